@@ -0,0 +1,67 @@
+package com.rodina.trie.benchmark;
+
+import com.rodina.trie.core.impl.ConcurrentTrie;
+import com.rodina.trie.core.impl.IntTrie;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class IntTrieBenchmark {
+
+  private ConcurrentTrie<Integer> boxedTrie;
+  private IntTrie intTrie;
+  private String[] existingKeys;
+
+  @Param({"10000", "100000"})
+  private int size;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    boxedTrie = new ConcurrentTrie<>();
+    intTrie = new IntTrie();
+    existingKeys = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      String key = "key-" + i;
+      existingKeys[i] = key;
+      boxedTrie.insert(key, i);
+      intTrie.put(key, i);
+    }
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void boxedRead_8_Threads(Blackhole bh) {
+    bh.consume(boxedTrie.search(randomKey()).orElse(0));
+  }
+
+  @Benchmark
+  @Threads(8)
+  public void primitiveRead_8_Threads(Blackhole bh) {
+    bh.consume(intTrie.getOrDefault(randomKey(), 0));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void boxedIncrement_4_Threads() {
+    String key = randomKey();
+    boxedTrie.insert(key, boxedTrie.search(key).orElse(0) + 1);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void primitiveIncrement_4_Threads(Blackhole bh) {
+    bh.consume(intTrie.addTo(randomKey(), 1));
+  }
+
+  private String randomKey() {
+    return existingKeys[ThreadLocalRandom.current().nextInt(size)];
+  }
+}
@@ -1,6 +1,8 @@
 package com.rodina.trie.benchmark;
 
 import com.rodina.trie.core.impl.ConcurrentTrie;
+import com.rodina.trie.core.impl.ReadMode;
+import com.rodina.trie.core.node.NodeMode;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import org.openjdk.jmh.annotations.*;
@@ -20,9 +22,12 @@ public class TrieBenchmark {
   @Param({"10000", "100000"})
   private int size;
 
+  @Param({"LOCKED", "OPTIMISTIC", "LOCK_FREE"})
+  private ReadMode readMode;
+
   @Setup(Level.Trial)
   public void setUp() {
-    trie = new ConcurrentTrie<>();
+    trie = new ConcurrentTrie<>(10, NodeMode.FULL, readMode);
     existingKeys = new String[size];
 
     for (int i = 0; i < size; i++) {
@@ -50,6 +55,18 @@ public class TrieBenchmark {
     performSearch(bh);
   }
 
+  @Benchmark
+  @Threads(8)
+  public void prefixLookup_8_Threads(Blackhole bh) {
+    performPrefixLookup(bh);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void readOnly_16_Threads(Blackhole bh) {
+    performSearch(bh);
+  }
+
   @Benchmark
   @Threads(4)
   public void writeOnly_4_Threads() {
@@ -84,6 +101,12 @@ public class TrieBenchmark {
     bh.consume(trie.search(key));
   }
 
+  private void performPrefixLookup(Blackhole bh) {
+    int index = ThreadLocalRandom.current().nextInt(size);
+    String key = existingKeys[index];
+    bh.consume(trie.startsWith(key.substring(0, key.length() - 1)));
+  }
+
   private void performInsert() {
     String newKey = "new-" + ThreadLocalRandom.current().nextInt(1_000_000_000);
     trie.insert(newKey, 1);
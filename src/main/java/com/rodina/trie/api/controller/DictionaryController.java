@@ -1,25 +1,35 @@
 package com.rodina.trie.api.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.rodina.trie.api.dto.*;
 import com.rodina.trie.api.service.DictionaryService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Validated
 @RestController
 @RequestMapping("/api/v1/dictionary")
 public class DictionaryController {
+  static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+  private static final int DEFAULT_PAGE_SIZE = 100;
   private final DictionaryService dictionaryService;
+  private final ObjectMapper objectMapper;
 
-  public DictionaryController(DictionaryService dictionaryService) {
+  public DictionaryController(DictionaryService dictionaryService, ObjectMapper objectMapper) {
     this.dictionaryService = dictionaryService;
+    this.objectMapper = objectMapper;
   }
 
   @PostMapping
@@ -47,6 +57,13 @@ public class DictionaryController {
     return ResponseEntity.ok(new SearchResponse(result));
   }
 
+  @PostMapping("/search/batch")
+  public ResponseEntity<List<DictionaryEntryDto>> searchAll(
+      @Valid @RequestBody BatchSearchRequest request) {
+    List<DictionaryEntryDto> result = dictionaryService.searchAll(request);
+    return ResponseEntity.ok(result);
+  }
+
   @DeleteMapping("/{key}")
   public ResponseEntity<Void> delete(@PathVariable String key) {
     dictionaryService.delete(key);
@@ -74,14 +91,85 @@ public class DictionaryController {
 
   @GetMapping("/autocomplete")
   public ResponseEntity<StringListResponse> autocomplete(
-      @RequestParam String prefix, @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
-    List<String> result = dictionaryService.autocomplete(prefix, limit);
+      @RequestParam String prefix,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit,
+      @RequestParam(defaultValue = "ALPHABETICAL") CompletionOrder order) {
+    List<String> result = dictionaryService.autocomplete(prefix, limit, order);
     return ResponseEntity.ok(new StringListResponse(result));
   }
 
   @GetMapping("/prefix")
-  public ResponseEntity<List<DictionaryEntryDto>> searchByPrefix(@RequestParam String prefix) {
-    List<DictionaryEntryDto> result = dictionaryService.searchByPrefix(prefix);
+  public ResponseEntity<List<DictionaryEntryDto>> searchByPrefix(
+      @RequestParam String prefix,
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer pageSize,
+      @RequestParam(required = false) String cursor) {
+    if (pageSize == null && cursor == null) {
+      return ResponseEntity.ok(dictionaryService.searchByPrefix(prefix));
+    }
+    CursorPage<DictionaryEntryDto> page =
+        dictionaryService.searchByPrefix(prefix, cursor, resolvePageSize(pageSize));
+    return withNextCursor(page).body(page.getItems());
+  }
+
+  @GetMapping(value = "/prefix", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamByPrefix(@RequestParam String prefix) {
+    return ndjson(dictionaryService.streamByPrefix(prefix));
+  }
+
+  @GetMapping("/fuzzy")
+  public ResponseEntity<List<DictionaryEntryDto>> fuzzySearch(
+      @RequestParam String term,
+      @RequestParam(defaultValue = "1") @Min(0) @Max(3) int maxEdits,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+    List<DictionaryEntryDto> result = dictionaryService.fuzzySearch(term, maxEdits, limit);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/match")
+  public ResponseEntity<List<DictionaryEntryDto>> match(
+      @RequestParam String pattern,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+    List<DictionaryEntryDto> result = dictionaryService.match(pattern, limit);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/range")
+  public ResponseEntity<List<DictionaryEntryDto>> range(
+      @RequestParam(required = false) String from,
+      @RequestParam(defaultValue = "true") boolean fromInclusive,
+      @RequestParam(required = false) String to,
+      @RequestParam(defaultValue = "false") boolean toInclusive,
+      @RequestParam(defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    List<DictionaryEntryDto> result =
+        dictionaryService.range(from, fromInclusive, to, toInclusive, limit);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/suffix")
+  public ResponseEntity<List<DictionaryEntryDto>> endsWith(
+      @RequestParam String suffix,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+    List<DictionaryEntryDto> result = dictionaryService.endsWith(suffix, limit);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/infix")
+  public ResponseEntity<List<DictionaryEntryDto>> contains(
+      @RequestParam String fragment,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+    List<DictionaryEntryDto> result = dictionaryService.contains(fragment, limit);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/longest-prefix")
+  public ResponseEntity<DictionaryEntryDto> longestPrefixOf(@RequestParam String input) {
+    DictionaryEntryDto result = dictionaryService.longestPrefixOf(input);
+    return ResponseEntity.ok(result);
+  }
+
+  @GetMapping("/prefixes-of")
+  public ResponseEntity<List<DictionaryEntryDto>> allPrefixesOf(@RequestParam String input) {
+    List<DictionaryEntryDto> result = dictionaryService.allPrefixesOf(input);
     return ResponseEntity.ok(result);
   }
 
@@ -97,10 +185,56 @@ public class DictionaryController {
     return ResponseEntity.ok(new BooleanResponse(startsWith));
   }
 
+  @GetMapping("/count")
+  public ResponseEntity<CountResponse> countByPrefix(
+      @RequestParam(defaultValue = "") String prefix) {
+    int count = dictionaryService.countByPrefix(prefix);
+    return ResponseEntity.ok(new CountResponse(count));
+  }
+
   @GetMapping("/keys")
-  public ResponseEntity<StringListResponse> getAllKeys() {
-    List<String> keys = dictionaryService.getAllKeys();
-    return ResponseEntity.ok(new StringListResponse(keys));
+  public ResponseEntity<StringListResponse> getAllKeys(
+      @RequestParam(required = false) @Min(1) @Max(1000) Integer pageSize,
+      @RequestParam(required = false) String cursor) {
+    if (pageSize == null && cursor == null) {
+      return ResponseEntity.ok(new StringListResponse(dictionaryService.getAllKeys()));
+    }
+    CursorPage<String> page = dictionaryService.getAllKeys(cursor, resolvePageSize(pageSize));
+    return withNextCursor(page).body(new StringListResponse(page.getItems()));
+  }
+
+  @GetMapping(value = "/keys", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> streamAllKeys() {
+    return ndjson(dictionaryService.streamAllKeys());
+  }
+
+  private ResponseEntity<StreamingResponseBody> ndjson(Stream<?> items) {
+    StreamingResponseBody body =
+        out -> {
+          try (items;
+              JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+              generator.writeObject(iterator.next());
+              generator.writeRaw('\n');
+            }
+          }
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  private int resolvePageSize(Integer pageSize) {
+    return pageSize != null ? pageSize : DEFAULT_PAGE_SIZE;
+  }
+
+  private ResponseEntity.BodyBuilder withNextCursor(CursorPage<?> page) {
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+    if (page.hasNext()) {
+      builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+    }
+    return builder;
   }
 
   @PostMapping("/checkpoints")
@@ -0,0 +1,44 @@
+package com.rodina.trie.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+public class BatchSearchRequest {
+  @NotEmpty(message = "Keys list cannot be empty")
+  @Size(max = 1000, message = "Maximum 1000 keys allowed per batch search")
+  private List<String> keys;
+
+  public BatchSearchRequest() {}
+
+  public BatchSearchRequest(List<String> keys) {
+    this.keys = keys;
+  }
+
+  public List<String> getKeys() {
+    return keys;
+  }
+
+  public void setKeys(List<String> keys) {
+    this.keys = keys;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    BatchSearchRequest that = (BatchSearchRequest) o;
+    return Objects.equals(keys, that.keys);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(keys);
+  }
+
+  @Override
+  public String toString() {
+    return "BatchSearchRequest{" + "keys=" + keys + '}';
+  }
+}
@@ -0,0 +1,6 @@
+package com.rodina.trie.api.dto;
+
+public enum CompletionOrder {
+  ALPHABETICAL,
+  POPULARITY
+}
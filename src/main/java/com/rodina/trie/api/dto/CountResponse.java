@@ -0,0 +1,19 @@
+package com.rodina.trie.api.dto;
+
+public class CountResponse {
+  private int count;
+
+  public CountResponse() {}
+
+  public CountResponse(int count) {
+    this.count = count;
+  }
+
+  public int getCount() {
+    return count;
+  }
+
+  public void setCount(int count) {
+    this.count = count;
+  }
+}
@@ -1,20 +1,28 @@
 package com.rodina.trie.api.service;
 
+import com.rodina.trie.api.dto.BatchSearchRequest;
 import com.rodina.trie.api.dto.BulkDeleteRequest;
 import com.rodina.trie.api.dto.BulkInsertRequest;
 import com.rodina.trie.api.dto.BulkOperationResponse;
 import com.rodina.trie.api.dto.BulkOperationResponse.BulkOperationError;
+import com.rodina.trie.api.dto.CompletionOrder;
+import com.rodina.trie.api.dto.CursorPage;
 import com.rodina.trie.api.dto.DictionaryEntryDto;
 import com.rodina.trie.api.dto.InsertRequest;
 import com.rodina.trie.contract.Trie;
 import com.rodina.trie.core.transaction.DeleteCommand;
 import com.rodina.trie.core.transaction.InsertCommand;
 import com.rodina.trie.core.transaction.TransactionManager;
+import com.rodina.trie.core.util.ScoredCompletion;
+import com.rodina.trie.exception.InvalidKeyException;
 import com.rodina.trie.exception.NodeNotFoundException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -38,6 +46,12 @@ public class DictionaryService {
     return trie.search(key).orElseThrow(() -> new NodeNotFoundException("Key not found: " + key));
   }
 
+  public List<DictionaryEntryDto> searchAll(BatchSearchRequest request) {
+    return trie.searchAll(request.getKeys()).entrySet().stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
   public void delete(String key) {
     boolean deleted = trie.delete(key);
     if (!deleted) {
@@ -53,6 +67,17 @@ public class DictionaryService {
     return trie.autocomplete(prefix, limit);
   }
 
+  public List<String> autocomplete(String prefix, int limit, CompletionOrder order) {
+    if (order == CompletionOrder.ALPHABETICAL) {
+      return trie.searchByPrefix(prefix, null, limit).stream()
+          .map(Map.Entry::getKey)
+          .collect(Collectors.toList());
+    }
+    return trie.popularCompletions(prefix, limit).stream()
+        .map(ScoredCompletion::getKey)
+        .collect(Collectors.toList());
+  }
+
   public List<DictionaryEntryDto> searchByPrefix(String prefix) {
     List<Map.Entry<String, Object>> entries = trie.searchByPrefix(prefix);
     return entries.stream()
@@ -60,6 +85,88 @@ public class DictionaryService {
         .collect(Collectors.toList());
   }
 
+  public List<DictionaryEntryDto> fuzzySearch(String term, int maxEdits, int limit) {
+    return trie.fuzzySearch(term, maxEdits, limit).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public List<DictionaryEntryDto> match(String pattern, int limit) {
+    return trie.match(pattern, limit).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public List<DictionaryEntryDto> range(
+      String fromKey, boolean fromInclusive, String toKey, boolean toInclusive, int limit) {
+    return trie.range(fromKey, fromInclusive, toKey, toInclusive, limit).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public List<DictionaryEntryDto> endsWith(String suffix, int limit) {
+    return trie.endsWith(suffix, limit).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public List<DictionaryEntryDto> contains(String fragment, int limit) {
+    return trie.contains(fragment, limit).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public DictionaryEntryDto longestPrefixOf(String input) {
+    return trie.longestPrefixOf(input)
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .orElseThrow(() -> new NodeNotFoundException("No key is a prefix of: " + input));
+  }
+
+  public List<DictionaryEntryDto> allPrefixesOf(String input) {
+    return trie.allPrefixesOf(input).stream()
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+        .collect(Collectors.toList());
+  }
+
+  public Stream<DictionaryEntryDto> streamByPrefix(String prefix) {
+    return trie.stream(prefix)
+        .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()));
+  }
+
+  public CursorPage<DictionaryEntryDto> searchByPrefix(
+      String prefix, String cursor, int pageSize) {
+    List<Map.Entry<String, Object>> entries = fetchPage(prefix, cursor, pageSize);
+    List<DictionaryEntryDto> items =
+        entries.stream()
+            .limit(pageSize)
+            .map(entry -> new DictionaryEntryDto(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toList());
+    return new CursorPage<>(items, nextCursor(entries, pageSize));
+  }
+
+  private List<Map.Entry<String, Object>> fetchPage(String prefix, String cursor, int pageSize) {
+    return trie.searchByPrefix(prefix, decodeCursor(cursor), pageSize + 1);
+  }
+
+  private String nextCursor(List<Map.Entry<String, Object>> entries, int pageSize) {
+    if (entries.size() <= pageSize) {
+      return null;
+    }
+    byte[] lastKey = entries.get(pageSize - 1).getKey().getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(lastKey);
+  }
+
+  private String decodeCursor(String cursor) {
+    if (cursor == null || cursor.isEmpty()) {
+      return null;
+    }
+    try {
+      return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new InvalidKeyException("Invalid cursor: " + cursor);
+    }
+  }
+
   public BulkOperationResponse bulkInsert(BulkInsertRequest request) {
     List<InsertRequest> entries = request.getEntries();
     BulkOperationResponse response;
@@ -222,10 +329,25 @@ public class DictionaryService {
     return trie.startsWith(prefix);
   }
 
+  public int countByPrefix(String prefix) {
+    return trie.countByPrefix(prefix);
+  }
+
   public List<String> getAllKeys() {
     return trie.getAllKeys();
   }
 
+  public Stream<String> streamAllKeys() {
+    return trie.stream("").map(Map.Entry::getKey);
+  }
+
+  public CursorPage<String> getAllKeys(String cursor, int pageSize) {
+    List<Map.Entry<String, Object>> entries = fetchPage("", cursor, pageSize);
+    List<String> keys =
+        entries.stream().limit(pageSize).map(Map.Entry::getKey).collect(Collectors.toList());
+    return new CursorPage<>(keys, nextCursor(entries, pageSize));
+  }
+
   public long createCheckpoint() {
     long checkpointId = trie.createSnapshot();
     logger.info("Memory checkpoint created: {}", checkpointId);
@@ -0,0 +1,6 @@
+package com.rodina.trie.config;
+
+public enum LockStrategy {
+  PER_NODE,
+  STRIPED
+}
@@ -1,16 +1,69 @@
 package com.rodina.trie.config;
 
 import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.impl.ConcurrentRadixTrie;
 import com.rodina.trie.core.impl.ConcurrentTrie;
+import com.rodina.trie.core.impl.ReadMode;
+import com.rodina.trie.core.impl.ShardedTrie;
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.node.StripedLockPool;
+import com.rodina.trie.core.util.AccessSampler;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Scope;
 
 @Configuration
 public class TrieConfig {
+  private static final int MAX_SNAPSHOTS = 10;
+
   @Bean
   @Scope("singleton")
-  public Trie<Object> concurrentTrie() {
-    return new ConcurrentTrie<>();
+  public Trie<Object> concurrentTrie(
+      @Value("${trie.engine:TRIE}") TrieEngine engine,
+      @Value("${trie.node-mode:FULL}") NodeMode nodeMode,
+      @Value("${trie.read-mode:LOCKED}") ReadMode readMode,
+      @Value("${trie.lock-strategy:PER_NODE}") LockStrategy lockStrategy,
+      @Value("${trie.lock-stripes:1024}") int lockStripes,
+      @Value("${trie.shards:1}") int shards,
+      @Value("${trie.shard-prefix-length:1}") int shardPrefixLength,
+      @Value("${trie.access-sample-rate:16}") int accessSampleRate,
+      @Value("${trie.access-half-life-ms:600000}") long accessHalfLifeMillis,
+      @Value("${trie.substring-index:false}") boolean substringIndex,
+      @Value("${trie.completion-top-k:0}") int completionTopK) {
+    StripedLockPool lockPool =
+        lockStrategy == LockStrategy.STRIPED ? new StripedLockPool(lockStripes) : null;
+    AccessSampler accessSampler = new AccessSampler(accessSampleRate, accessHalfLifeMillis);
+    Supplier<Trie<Object>> factory =
+        switch (engine) {
+          case TRIE ->
+              () ->
+                  new ConcurrentTrie<>(
+                      MAX_SNAPSHOTS,
+                      nodeMode,
+                      readMode,
+                      lockPool,
+                      accessSampler,
+                      substringIndex ? new SubstringIndex() : null,
+                      completionTopK);
+          case RADIX ->
+              () ->
+                  new ConcurrentRadixTrie<>(
+                      MAX_SNAPSHOTS,
+                      nodeMode,
+                      accessSampler,
+                      substringIndex ? new SubstringIndex() : null);
+        };
+    if (shards > 1) {
+      return new ShardedTrie<>(
+          shards,
+          shardPrefixLength,
+          MAX_SNAPSHOTS,
+          factory,
+          engine == TrieEngine.TRIE && completionTopK > 0);
+    }
+    return factory.get();
   }
 }
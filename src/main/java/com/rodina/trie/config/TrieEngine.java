@@ -0,0 +1,6 @@
+package com.rodina.trie.config;
+
+public enum TrieEngine {
+  TRIE,
+  RADIX
+}
@@ -1,26 +1,70 @@
 package com.rodina.trie.contract;
 
 import com.rodina.trie.core.snapshot.TrieSnapshot;
+import com.rodina.trie.core.util.ScoredCompletion;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface Trie<V> extends Iterable<Map.Entry<String, V>> {
   void insert(String key, V value);
 
   Optional<V> search(String key);
 
+  Map<String, V> searchAll(Collection<String> keys);
+
   boolean delete(String key);
 
   boolean has(String key);
 
   boolean startsWith(String prefix);
 
+  int countByPrefix(String prefix);
+
+  int rank(String key);
+
+  Optional<String> select(String prefix, int index);
+
+  List<String> sample(String prefix, int size);
+
+  Optional<Map.Entry<String, V>> longestPrefixOf(String input);
+
+  List<Map.Entry<String, V>> allPrefixesOf(String input);
+
   List<Map.Entry<String, V>> searchByPrefix(String prefix);
 
+  List<Map.Entry<String, V>> searchByPrefix(String prefix, String after, int limit);
+
   List<String> autocomplete(String prefix, int limit);
 
+  List<ScoredCompletion> popularCompletions(String prefix, int limit);
+
+  List<Map.Entry<String, V>> fuzzySearch(String term, int maxEdits, int limit);
+
+  List<Map.Entry<String, V>> match(String pattern, int limit);
+
+  List<Map.Entry<String, V>> range(
+      String fromKey, boolean fromInclusive, String toKey, boolean toInclusive, int limit);
+
+  Optional<String> floorKey(String key);
+
+  Optional<String> ceilingKey(String key);
+
+  Optional<String> higherKey(String key);
+
+  Optional<String> lowerKey(String key);
+
+  List<Map.Entry<String, V>> endsWith(String suffix, int limit);
+
+  List<Map.Entry<String, V>> contains(String fragment, int limit);
+
+  Stream<Map.Entry<String, V>> stream(String prefix);
+
+  Stream<Map.Entry<String, V>> parallelStream(String prefix);
+
   int size();
 
   boolean isEmpty();
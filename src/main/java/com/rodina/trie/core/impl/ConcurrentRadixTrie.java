@@ -0,0 +1,1263 @@
+package com.rodina.trie.core.impl;
+
+import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.node.RadixNode;
+import com.rodina.trie.core.snapshot.TrieSnapshot;
+import com.rodina.trie.core.snapshot.TrieSnapshotManager;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.core.util.GlobPattern;
+import com.rodina.trie.core.util.KeyAutomaton;
+import com.rodina.trie.core.util.LevenshteinAutomaton;
+import com.rodina.trie.core.util.RadixTrieIterator;
+import com.rodina.trie.core.util.RadixTrieSpliterator;
+import com.rodina.trie.core.util.RandomIndices;
+import com.rodina.trie.core.util.ScoredCompletion;
+import com.rodina.trie.core.util.TopCompletions;
+import com.rodina.trie.core.util.TrieEntry;
+import com.rodina.trie.core.util.TrieIterator;
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ConcurrentRadixTrie<V> implements Trie<V> {
+  private static final int RETRY = -1;
+  private static final int UPDATED = 0;
+  private static final int INSERTED = 1;
+  private final RadixNode<V> root;
+  private final LongAdder size;
+  private final TrieSnapshotManager<V> snapshotManager;
+  private final AtomicLong globalVersion;
+  private final NodeMode nodeMode;
+  private final AccessSampler accessSampler;
+  private final SubstringIndex substringIndex;
+
+  public ConcurrentRadixTrie() {
+    this(10);
+  }
+
+  public ConcurrentRadixTrie(int maxSnapshots) {
+    this(maxSnapshots, NodeMode.FULL);
+  }
+
+  public ConcurrentRadixTrie(int maxSnapshots, NodeMode nodeMode) {
+    this(maxSnapshots, nodeMode, new AccessSampler());
+  }
+
+  public ConcurrentRadixTrie(int maxSnapshots, NodeMode nodeMode, AccessSampler accessSampler) {
+    this(maxSnapshots, nodeMode, accessSampler, null);
+  }
+
+  public ConcurrentRadixTrie(
+      int maxSnapshots,
+      NodeMode nodeMode,
+      AccessSampler accessSampler,
+      SubstringIndex substringIndex) {
+    if (maxSnapshots <= 0) {
+      throw new IllegalArgumentException("Max snapshots must be greater than 0");
+    }
+    this.nodeMode = nodeMode;
+    this.root = new RadixNode<>("", nodeMode);
+    this.size = new LongAdder();
+    this.snapshotManager = new TrieSnapshotManager<>(maxSnapshots);
+    this.globalVersion = new AtomicLong(0);
+    this.accessSampler = accessSampler;
+    this.substringIndex = substringIndex;
+  }
+
+  public AccessSampler getAccessSampler() {
+    return accessSampler;
+  }
+
+  public SubstringIndex getSubstringIndex() {
+    return substringIndex;
+  }
+
+  @Override
+  public void insert(String key, V value) {
+    validateKey(key);
+    if (value == null) {
+      throw new IllegalArgumentException("Value cannot be null");
+    }
+    int result;
+    while ((result = tryInsert(root, key, value)) == RETRY) {
+      Thread.onSpinWait();
+    }
+    if (result == INSERTED) {
+      size.increment();
+    }
+    syncIndex(key);
+  }
+
+  private int tryInsert(RadixNode<V> start, String key, V value) {
+    List<RadixNode<V>> ancestors = new ArrayList<>();
+    try {
+      RadixNode<V> currentNode = start;
+      int position = 0;
+      currentNode.lockRead();
+      try {
+        while (position < key.length()) {
+          RadixNode<V> nextNode = currentNode.getChild(key.charAt(position));
+          if (nextNode == null) {
+            break;
+          }
+          String label = nextNode.getLabel();
+          if (commonPrefixLength(label, key, position) < label.length()) {
+            break;
+          }
+          nextNode.lockRead();
+          ancestors.add(currentNode);
+          currentNode = nextNode;
+          position += label.length();
+        }
+      } finally {
+        currentNode.unlockRead();
+      }
+      int result = insertAt(currentNode, key, position, value);
+      if (result == INSERTED) {
+        adjustCounts(ancestors, 1);
+      }
+      return result;
+    } finally {
+      unlockAll(ancestors);
+    }
+  }
+
+  private int insertAt(RadixNode<V> currentNode, String key, int position, V value) {
+    currentNode.lockWrite();
+    try {
+      if (currentNode.isRemoved()) {
+        return RETRY;
+      }
+      int result;
+      if (position == key.length()) {
+        boolean isNew = !currentNode.isEndOfWord();
+        currentNode.setTerminal(value);
+        result = isNew ? INSERTED : UPDATED;
+      } else {
+        RadixNode<V> child = currentNode.getChild(key.charAt(position));
+        if (child == null) {
+          RadixNode<V> leaf = new RadixNode<>(key.substring(position), nodeMode);
+          leaf.setTerminal(value);
+          leaf.setSubtreeCount(1);
+          currentNode.putChild(leaf);
+          result = INSERTED;
+        } else {
+          result = splitChild(currentNode, child, key, position, value);
+        }
+      }
+      if (result == INSERTED) {
+        currentNode.addSubtreeCount(1);
+      }
+      return result;
+    } finally {
+      currentNode.unlockWrite();
+    }
+  }
+
+  private int splitChild(
+      RadixNode<V> parent, RadixNode<V> child, String key, int position, V value) {
+    child.lockWrite();
+    try {
+      String label = child.getLabel();
+      int common = commonPrefixLength(label, key, position);
+      if (common == label.length()) {
+        return RETRY;
+      }
+      RadixNode<V> middle = new RadixNode<>(label.substring(0, common), nodeMode);
+      middle.setSubtreeCount(child.getSubtreeCount() + 1);
+      child.setLabel(label.substring(common));
+      middle.putChild(child);
+      if (position + common == key.length()) {
+        middle.setTerminal(value);
+      } else {
+        RadixNode<V> leaf = new RadixNode<>(key.substring(position + common), nodeMode);
+        leaf.setTerminal(value);
+        leaf.setSubtreeCount(1);
+        middle.putChild(leaf);
+      }
+      parent.putChild(middle);
+      return INSERTED;
+    } finally {
+      child.unlockWrite();
+    }
+  }
+
+  private void adjustCounts(List<RadixNode<V>> path, int delta) {
+    for (RadixNode<V> node : path) {
+      node.addSubtreeCount(delta);
+    }
+  }
+
+  private void unlockAll(List<RadixNode<V>> path) {
+    for (int i = path.size() - 1; i >= 0; i--) {
+      path.get(i).unlockRead();
+    }
+  }
+
+  @Override
+  public Optional<V> search(String key) {
+    validateKey(key);
+    return lookup(key, true);
+  }
+
+  private Optional<V> lookup(String key, boolean recordAccess) {
+    RadixNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      int position = 0;
+      while (position < key.length()) {
+        RadixNode<V> nextNode = currentNode.getChild(key.charAt(position));
+        if (nextNode == null) {
+          return Optional.empty();
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        if (!key.startsWith(label, position)) {
+          return Optional.empty();
+        }
+        position += label.length();
+      }
+      if (currentNode.isEndOfWord()) {
+        if (recordAccess && accessSampler.sample()) {
+          currentNode.incrementAccessCount(accessSampler.epoch());
+        }
+        return Optional.ofNullable(currentNode.getValue());
+      }
+      return Optional.empty();
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  @Override
+  public Map<String, V> searchAll(Collection<String> keys) {
+    if (keys == null) {
+      throw new InvalidKeyException("Keys cannot be null");
+    }
+    keys.forEach(this::validateKey);
+    Map<String, V> results = new LinkedHashMap<>();
+    List<RadixNode<V>> path = new ArrayList<>();
+    List<Integer> ends = new ArrayList<>();
+    path.add(root);
+    ends.add(0);
+    String previous = "";
+    for (String key : keys.stream().sorted().distinct().toList()) {
+      int common = commonPrefixLength(previous, key, 0);
+      while (ends.get(ends.size() - 1) > common) {
+        path.remove(path.size() - 1);
+        ends.remove(ends.size() - 1);
+      }
+      Optional<V> value = descend(path, ends, key);
+      if (value == null) {
+        path.subList(1, path.size()).clear();
+        ends.subList(1, ends.size()).clear();
+        value = lookup(key, true);
+      }
+      value.ifPresent(found -> results.put(key, found));
+      previous = key;
+    }
+    return results;
+  }
+
+  private Optional<V> descend(List<RadixNode<V>> path, List<Integer> ends, String key) {
+    RadixNode<V> currentNode = path.get(path.size() - 1);
+    int position = ends.get(ends.size() - 1);
+    currentNode.lockRead();
+    try {
+      if (currentNode.isRemoved()) {
+        return null;
+      }
+      while (position < key.length()) {
+        RadixNode<V> nextNode = currentNode.getChild(key.charAt(position));
+        if (nextNode == null) {
+          return Optional.empty();
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        if (!key.startsWith(label, position)) {
+          return Optional.empty();
+        }
+        position += label.length();
+        path.add(currentNode);
+        ends.add(position);
+      }
+      if (currentNode.isEndOfWord()) {
+        if (accessSampler.sample()) {
+          currentNode.incrementAccessCount(accessSampler.epoch());
+        }
+        return Optional.ofNullable(currentNode.getValue());
+      }
+      return Optional.empty();
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  @Override
+  public boolean delete(String key) {
+    validateKey(key);
+    while (true) {
+      List<RadixNode<V>> path = lockPath(key);
+      if (path == null) {
+        return false;
+      }
+      RadixNode<V> target = path.remove(path.size() - 1);
+      RadixNode<V> parent = path.remove(path.size() - 1);
+      parent.unlockRead();
+      int parentPathLength;
+      try {
+        parent.lockWrite();
+        try {
+          target.lockWrite();
+          try {
+            if (parent.isRemoved()
+                || target.isRemoved()
+                || parent.getChild(target.firstChar()) != target) {
+              continue;
+            }
+            if (!target.isEndOfWord()) {
+              return false;
+            }
+            target.clearTerminal();
+            size.decrement();
+            adjustCounts(path, -1);
+            parent.addSubtreeCount(-1);
+            target.addSubtreeCount(-1);
+            parentPathLength = key.length() - target.getLabel().length();
+            if (!target.hasChildren()) {
+              parent.removeChild(target.firstChar());
+              target.markRemoved();
+            } else if (target.getChildrenCount() == 1) {
+              mergeWithOnlyChild(parent, target);
+              parentPathLength = -1;
+            } else {
+              parentPathLength = -1;
+            }
+          } finally {
+            target.unlockWrite();
+          }
+        } finally {
+          parent.unlockWrite();
+        }
+      } finally {
+        unlockAll(path);
+      }
+      if (parentPathLength > 0) {
+        compact(key.substring(0, parentPathLength));
+      }
+      syncIndex(key);
+      return true;
+    }
+  }
+
+  private List<RadixNode<V>> lockPath(String key) {
+    List<RadixNode<V>> path = new ArrayList<>();
+    RadixNode<V> currentNode = root;
+    currentNode.lockRead();
+    path.add(currentNode);
+    boolean found = false;
+    try {
+      int position = 0;
+      while (position < key.length()) {
+        RadixNode<V> nextNode = currentNode.getChild(key.charAt(position));
+        if (nextNode == null) {
+          return null;
+        }
+        nextNode.lockRead();
+        path.add(nextNode);
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        if (!key.startsWith(label, position)) {
+          return null;
+        }
+        position += label.length();
+      }
+      found = true;
+      return path;
+    } finally {
+      if (found) {
+        currentNode.unlockRead();
+      } else {
+        unlockAll(path);
+      }
+    }
+  }
+
+  private void syncIndex(String key) {
+    if (substringIndex != null) {
+      substringIndex.sync(key, indexed -> lookup(indexed, false).isPresent());
+    }
+  }
+
+  private void rebuildIndex() {
+    if (substringIndex != null) {
+      substringIndex.clear();
+      iterator().forEachRemaining(entry -> syncIndex(entry.getKey()));
+    }
+  }
+
+  private void compact(String path) {
+    PathMatch<V> match = findExact(path);
+    if (match == null) {
+      return;
+    }
+    RadixNode<V> parent = match.parent;
+    RadixNode<V> node = match.node;
+    parent.lockWrite();
+    try {
+      node.lockWrite();
+      try {
+        if (parent.isRemoved()
+            || node.isRemoved()
+            || parent.getChild(node.firstChar()) != node
+            || node.isEndOfWord()
+            || node.getChildrenCount() != 1) {
+          return;
+        }
+        mergeWithOnlyChild(parent, node);
+      } finally {
+        node.unlockWrite();
+      }
+    } finally {
+      parent.unlockWrite();
+    }
+  }
+
+  private void mergeWithOnlyChild(RadixNode<V> parent, RadixNode<V> node) {
+    RadixNode<V> child = node.getOnlyChild();
+    child.lockWrite();
+    try {
+      child.setLabel(node.getLabel() + child.getLabel());
+      parent.putChild(child);
+      node.markRemoved();
+    } finally {
+      child.unlockWrite();
+    }
+  }
+
+  private PathMatch<V> findExact(String key) {
+    RadixNode<V> parentNode = null;
+    RadixNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      int position = 0;
+      while (position < key.length()) {
+        RadixNode<V> nextNode = currentNode.getChild(key.charAt(position));
+        if (nextNode == null) {
+          return null;
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        parentNode = currentNode;
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        if (!key.startsWith(label, position)) {
+          return null;
+        }
+        position += label.length();
+      }
+      return parentNode == null ? null : new PathMatch<>(parentNode, currentNode, key);
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  private PathMatch<V> findPrefix(String prefix) {
+    RadixNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      int position = 0;
+      while (position < prefix.length()) {
+        RadixNode<V> nextNode = currentNode.getChild(prefix.charAt(position));
+        if (nextNode == null) {
+          return null;
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        int common = commonPrefixLength(label, prefix, position);
+        if (position + common == prefix.length()) {
+          return new PathMatch<>(null, currentNode, prefix.substring(0, position) + label);
+        }
+        if (common < label.length()) {
+          return null;
+        }
+        position += label.length();
+      }
+      return new PathMatch<>(null, currentNode, prefix);
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  private static int commonPrefixLength(String label, String key, int offset) {
+    int limit = Math.min(label.length(), key.length() - offset);
+    int i = 0;
+    while (i < limit && label.charAt(i) == key.charAt(offset + i)) {
+      i++;
+    }
+    return i;
+  }
+
+  @Override
+  public boolean has(String key) {
+    validateKey(key);
+    return lookup(key, false).isPresent();
+  }
+
+  @Override
+  public boolean startsWith(String prefix) {
+    validatePrefix(prefix);
+    return findPrefix(prefix) != null;
+  }
+
+  @Override
+  public int countByPrefix(String prefix) {
+    validatePrefix(prefix);
+    PathMatch<V> match = findPrefix(prefix);
+    return match == null ? 0 : match.node.getSubtreeCount();
+  }
+
+  @Override
+  public int rank(String key) {
+    validateKey(key);
+    int rank = 0;
+    RadixNode<V> node = root;
+    int position = 0;
+    while (position < key.length()) {
+      if (node.isEndOfWord()) {
+        rank++;
+      }
+      char bound = key.charAt(position);
+      RadixNode<V> next = null;
+      for (RadixNode<V> child : childrenOf(node)) {
+        if (child.firstChar() >= bound) {
+          next = child.firstChar() == bound ? child : null;
+          break;
+        }
+        rank += child.getSubtreeCount();
+      }
+      if (next == null) {
+        break;
+      }
+      String label = next.getLabel();
+      int common = commonPrefixLength(label, key, position);
+      if (common < label.length()) {
+        if (position + common < key.length()
+            && label.charAt(common) < key.charAt(position + common)) {
+          rank += next.getSubtreeCount();
+        }
+        break;
+      }
+      node = next;
+      position += label.length();
+    }
+    return rank;
+  }
+
+  @Override
+  public Optional<String> select(String prefix, int index) {
+    validatePrefix(prefix);
+    validateIndex(index);
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return Optional.empty();
+    }
+    RadixNode<V> node = match.node;
+    StringBuilder path = new StringBuilder(match.path);
+    int remaining = index;
+    while (node != null) {
+      if (node.isEndOfWord()) {
+        if (remaining == 0) {
+          return Optional.of(path.toString());
+        }
+        remaining--;
+      }
+      RadixNode<V> next = null;
+      for (RadixNode<V> child : childrenOf(node)) {
+        int count = child.getSubtreeCount();
+        if (remaining < count) {
+          next = child;
+          path.append(child.getLabel());
+          break;
+        }
+        remaining -= count;
+      }
+      node = next;
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<String> sample(String prefix, int size) {
+    validatePrefix(prefix);
+    if (size <= 0) {
+      throw new IllegalArgumentException("Sample size must be greater than 0");
+    }
+    List<String> keys = new ArrayList<>();
+    for (int index : RandomIndices.distinct(countByPrefix(prefix), size)) {
+      select(prefix, index).ifPresent(keys::add);
+    }
+    return keys;
+  }
+
+  @Override
+  public Optional<Map.Entry<String, V>> longestPrefixOf(String input) {
+    List<Map.Entry<String, V>> prefixes = collectPrefixes(input, true);
+    return prefixes.isEmpty() ? Optional.empty() : Optional.of(prefixes.get(0));
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> allPrefixesOf(String input) {
+    return collectPrefixes(input, false);
+  }
+
+  private List<Map.Entry<String, V>> collectPrefixes(String input, boolean longestOnly) {
+    validateInput(input);
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    RadixNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      int position = 0;
+      while (true) {
+        if (currentNode.isEndOfWord() && currentNode.getValue() != null) {
+          if (longestOnly) {
+            prefixes.clear();
+          }
+          prefixes.add(new TrieEntry<>(input.substring(0, position), currentNode.getValue()));
+        }
+        if (position == input.length()) {
+          return prefixes;
+        }
+        RadixNode<V> nextNode = currentNode.getChild(input.charAt(position));
+        if (nextNode == null) {
+          return prefixes;
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+        String label = currentNode.getLabel();
+        if (!input.startsWith(label, position)) {
+          return prefixes;
+        }
+        position += label.length();
+      }
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix) {
+    validatePrefix(prefix);
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return Collections.emptyList();
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    RadixTrieIterator<V> iterator = new RadixTrieIterator<>(match.node, match.path);
+    while (iterator.hasNext()) {
+      results.add(iterator.next());
+    }
+    return results;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix, String after, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return Collections.emptyList();
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    RadixTrieIterator<V> iterator = new RadixTrieIterator<>(match.node, match.path, after);
+    while (iterator.hasNext() && results.size() < limit) {
+      results.add(iterator.next());
+    }
+    return results;
+  }
+
+  @Override
+  public List<String> autocomplete(String prefix, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return Collections.emptyList();
+    }
+    if (match.path.equals(prefix) && accessSampler.sample()) {
+      recordAccess(match.node);
+    }
+    List<String> results = new ArrayList<>();
+    RadixTrieIterator<V> iterator = new RadixTrieIterator<>(match.node, match.path);
+    while (iterator.hasNext() && results.size() < limit) {
+      results.add(iterator.next().getKey());
+    }
+    return results;
+  }
+
+  @Override
+  public List<ScoredCompletion> popularCompletions(String prefix, int limit) {
+    validatePrefix(prefix);
+    TopCompletions top = new TopCompletions(limit);
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return Collections.emptyList();
+    }
+    int epoch = accessSampler.epoch();
+    Deque<RadixNode<V>> nodes = new ArrayDeque<>();
+    Deque<String> paths = new ArrayDeque<>();
+    nodes.push(match.node);
+    paths.push(match.path);
+    while (!nodes.isEmpty()) {
+      RadixNode<V> node = nodes.pop();
+      String path = paths.pop();
+      node.lockRead();
+      try {
+        if (node.isEndOfWord() && node.getValue() != null) {
+          top.offer(path, node.getAccessCount(epoch));
+        }
+        node.forEachChild(
+            (key, child) -> {
+              nodes.push(child);
+              paths.push(path + child.getLabel());
+            });
+      } finally {
+        node.unlockRead();
+      }
+    }
+    return top.toList();
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> fuzzySearch(String term, int maxEdits, int limit) {
+    validateTerm(term);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    LevenshteinAutomaton automaton = new LevenshteinAutomaton(term, maxEdits);
+    return collectMatches(root, "", automaton.start(), automaton, limit);
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> match(String pattern, int limit) {
+    GlobPattern glob = new GlobPattern(pattern);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    PathMatch<V> match = findPrefix(glob.getLiteralPrefix());
+    if (match == null) {
+      return Collections.emptyList();
+    }
+    BitSet state = glob.start();
+    for (int i = 0; i < match.path.length() && glob.canMatch(state); i++) {
+      state = glob.step(state, match.path.charAt(i));
+    }
+    if (!glob.canMatch(state)) {
+      return Collections.emptyList();
+    }
+    return collectMatches(match.node, match.path, state, glob, limit);
+  }
+
+  private <S> List<Map.Entry<String, V>> collectMatches(
+      RadixNode<V> start, String startPath, S startState, KeyAutomaton<S> automaton, int limit) {
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    Deque<RadixNode<V>> nodes = new ArrayDeque<>();
+    Deque<String> paths = new ArrayDeque<>();
+    Deque<S> states = new ArrayDeque<>();
+    nodes.push(start);
+    paths.push(startPath);
+    states.push(startState);
+    List<RadixNode<V>> children = new ArrayList<>();
+    while (!nodes.isEmpty() && results.size() < limit) {
+      RadixNode<V> node = nodes.pop();
+      String path = paths.pop();
+      S state = states.pop();
+      children.clear();
+      V value;
+      boolean endOfWord;
+      node.lockRead();
+      try {
+        value = node.getValue();
+        endOfWord = node.isEndOfWord();
+        node.forEachChild((key, child) -> children.add(child));
+      } finally {
+        node.unlockRead();
+      }
+      if (endOfWord && value != null && automaton.isMatch(state)) {
+        results.add(new TrieEntry<>(path, value));
+      }
+      for (int i = children.size() - 1; i >= 0; i--) {
+        RadixNode<V> child = children.get(i);
+        String label = child.getLabel();
+        S childState = state;
+        for (int j = 0; j < label.length() && childState != null; j++) {
+          childState = automaton.step(childState, label.charAt(j));
+          if (!automaton.canMatch(childState)) {
+            childState = null;
+          }
+        }
+        if (childState != null) {
+          nodes.push(child);
+          paths.push(path + label);
+          states.push(childState);
+        }
+      }
+    }
+    return results;
+  }
+
+  private void recordAccess(RadixNode<V> node) {
+    node.lockRead();
+    try {
+      if (node.isEndOfWord()) {
+        node.incrementAccessCount(accessSampler.epoch());
+      }
+    } finally {
+      node.unlockRead();
+    }
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> range(
+      String fromKey, boolean fromInclusive, String toKey, boolean toInclusive, int limit) {
+    validateRange(fromKey, toKey);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    Iterator<Map.Entry<String, V>> iterator =
+        fromKey == null ? iterator() : new RadixTrieIterator<>(root, "", fromKey, fromInclusive);
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    while (iterator.hasNext() && results.size() < limit) {
+      Map.Entry<String, V> entry = iterator.next();
+      if (toKey != null) {
+        int comparison = entry.getKey().compareTo(toKey);
+        if (comparison > 0 || (comparison == 0 && !toInclusive)) {
+          break;
+        }
+      }
+      results.add(entry);
+    }
+    return results;
+  }
+
+  @Override
+  public Optional<String> floorKey(String key) {
+    validateKey(key);
+    return Optional.ofNullable(lastKeyBefore(root, "", key, true));
+  }
+
+  @Override
+  public Optional<String> ceilingKey(String key) {
+    validateKey(key);
+    return firstKey(new RadixTrieIterator<>(root, "", key, true));
+  }
+
+  @Override
+  public Optional<String> higherKey(String key) {
+    validateKey(key);
+    return firstKey(new RadixTrieIterator<>(root, "", key, false));
+  }
+
+  @Override
+  public Optional<String> lowerKey(String key) {
+    validateKey(key);
+    return Optional.ofNullable(lastKeyBefore(root, "", key, false));
+  }
+
+  private Optional<String> firstKey(Iterator<Map.Entry<String, V>> iterator) {
+    return iterator.hasNext() ? Optional.of(iterator.next().getKey()) : Optional.empty();
+  }
+
+  private String lastKeyBefore(RadixNode<V> node, String path, String key, boolean inclusive) {
+    if (!key.startsWith(path)) {
+      return path.compareTo(key) < 0 ? lastKeyIn(node, path) : null;
+    }
+    if (path.length() == key.length()) {
+      return inclusive && hasEntry(node) ? path : null;
+    }
+    char bound = key.charAt(path.length());
+    List<RadixNode<V>> children = childrenOf(node);
+    for (int i = children.size() - 1; i >= 0; i--) {
+      RadixNode<V> child = children.get(i);
+      if (child.firstChar() <= bound) {
+        String last = lastKeyBefore(child, path + child.getLabel(), key, inclusive);
+        if (last != null) {
+          return last;
+        }
+      }
+    }
+    return hasEntry(node) ? path : null;
+  }
+
+  private String lastKeyIn(RadixNode<V> node, String path) {
+    List<RadixNode<V>> children = childrenOf(node);
+    for (int i = children.size() - 1; i >= 0; i--) {
+      RadixNode<V> child = children.get(i);
+      String last = lastKeyIn(child, path + child.getLabel());
+      if (last != null) {
+        return last;
+      }
+    }
+    return hasEntry(node) ? path : null;
+  }
+
+  private List<RadixNode<V>> childrenOf(RadixNode<V> node) {
+    List<RadixNode<V>> children = new ArrayList<>();
+    node.lockRead();
+    try {
+      node.forEachChild((key, child) -> children.add(child));
+    } finally {
+      node.unlockRead();
+    }
+    return children;
+  }
+
+  private boolean hasEntry(RadixNode<V> node) {
+    return node.isEndOfWord() && node.getValue() != null;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> endsWith(String suffix, int limit) {
+    validateSuffix(suffix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (substringIndex != null) {
+      return collectIndexed(substringIndex.keysEndingWith(suffix), limit);
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    iterator()
+        .forEachRemaining(
+            entry -> {
+              if (entry.getKey().endsWith(suffix)) {
+                results.add(entry);
+              }
+            });
+    results.sort(Map.Entry.comparingByKey(SubstringIndex.BY_REVERSED_KEY));
+    return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> contains(String fragment, int limit) {
+    validateFragment(fragment);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (substringIndex != null && substringIndex.covers(fragment)) {
+      return collectIndexed(substringIndex.keysContaining(fragment), limit);
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    Iterator<Map.Entry<String, V>> iterator = iterator();
+    while (iterator.hasNext() && results.size() < limit) {
+      Map.Entry<String, V> entry = iterator.next();
+      if (entry.getKey().contains(fragment)) {
+        results.add(entry);
+      }
+    }
+    return results;
+  }
+
+  private List<Map.Entry<String, V>> collectIndexed(Iterator<String> keys, int limit) {
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    while (keys.hasNext() && results.size() < limit) {
+      String key = keys.next();
+      lookup(key, false).ifPresent(value -> results.add(new TrieEntry<>(key, value)));
+    }
+    return results;
+  }
+
+  @Override
+  public Stream<Map.Entry<String, V>> stream(String prefix) {
+    return stream(prefix, false);
+  }
+
+  @Override
+  public Stream<Map.Entry<String, V>> parallelStream(String prefix) {
+    return stream(prefix, true);
+  }
+
+  private Stream<Map.Entry<String, V>> stream(String prefix, boolean parallel) {
+    validatePrefix(prefix);
+    PathMatch<V> match = findPrefix(prefix);
+    if (match == null) {
+      return StreamSupport.stream(Spliterators.emptySpliterator(), parallel);
+    }
+    return StreamSupport.stream(new RadixTrieSpliterator<>(match.node, match.path), parallel);
+  }
+
+  @Override
+  public int size() {
+    return size.intValue();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size.sum() == 0;
+  }
+
+  @Override
+  public void clear() {
+    if (substringIndex != null) {
+      substringIndex.clear();
+    }
+    root.lockWrite();
+    try {
+      root.clear();
+      size.reset();
+    } finally {
+      root.unlockWrite();
+    }
+  }
+
+  @Override
+  public List<String> getAllKeys() {
+    return searchByPrefix("").stream().map(Map.Entry::getKey).collect(Collectors.toList());
+  }
+
+  @Override
+  public String longestCommonPrefix() {
+    RadixNode<V> currentNode = root;
+    StringBuilder prefix = new StringBuilder();
+    currentNode.lockRead();
+    try {
+      while (currentNode.getChildrenCount() == 1 && !currentNode.isEndOfWord()) {
+        RadixNode<V> nextNode = currentNode.getOnlyChild();
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+        prefix.append(currentNode.getLabel());
+      }
+      return prefix.toString();
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  @Override
+  public Iterator<Map.Entry<String, V>> iterator() {
+    return new RadixTrieIterator<>(root);
+  }
+
+  private void validateKey(String key) {
+    if (key == null) {
+      throw new InvalidKeyException("Key cannot be null");
+    }
+    if (key.isEmpty()) {
+      throw new InvalidKeyException("Key cannot be empty");
+    }
+  }
+
+  private void validatePrefix(String prefix) {
+    if (prefix == null) {
+      throw new InvalidKeyException("Prefix cannot be null");
+    }
+  }
+
+  private void validateTerm(String term) {
+    if (term == null) {
+      throw new InvalidKeyException("Term cannot be null");
+    }
+  }
+
+  private void validateSuffix(String suffix) {
+    if (suffix == null) {
+      throw new InvalidKeyException("Suffix cannot be null");
+    }
+  }
+
+  private void validateFragment(String fragment) {
+    if (fragment == null) {
+      throw new InvalidKeyException("Fragment cannot be null");
+    }
+  }
+
+  private void validateInput(String input) {
+    if (input == null) {
+      throw new InvalidKeyException("Input cannot be null");
+    }
+  }
+
+  private void validateIndex(int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Index cannot be negative");
+    }
+  }
+
+  private void validateRange(String fromKey, String toKey) {
+    if (fromKey != null && toKey != null && fromKey.compareTo(toKey) > 0) {
+      throw new InvalidKeyException("Range start cannot be greater than range end");
+    }
+  }
+
+  protected RadixNode<V> getRoot() {
+    return root;
+  }
+
+  @Override
+  public long getGlobalVersion() {
+    return globalVersion.get();
+  }
+
+  private void incrementGlobalVersion() {
+    globalVersion.incrementAndGet();
+  }
+
+  @Override
+  public long createSnapshot() {
+    return snapshotManager.createSnapshot(this, size.intValue());
+  }
+
+  @Override
+  public boolean rollbackToSnapshot(long snapshotId) {
+    TrieSnapshot<V> snapshot = snapshotManager.getSnapshot(snapshotId);
+    if (snapshot == null) {
+      return false;
+    }
+    RadixNode<V> rebuilt = new RadixNode<>("", nodeMode);
+    TrieIterator<V> entries = new TrieIterator<>(snapshot.getRoot());
+    while (entries.hasNext()) {
+      Map.Entry<String, V> entry = entries.next();
+      tryInsert(rebuilt, entry.getKey(), entry.getValue());
+    }
+    root.lockWrite();
+    try {
+      root.clear();
+      rebuilt.forEachChild((key, child) -> root.putChild(child));
+      root.setSubtreeCount(rebuilt.getSubtreeCount());
+      size.reset();
+      size.add(snapshot.getSize());
+      incrementGlobalVersion();
+    } finally {
+      root.unlockWrite();
+    }
+    rebuildIndex();
+    return true;
+  }
+
+  @Override
+  public boolean rollbackNode(String key) {
+    validateKey(key);
+    return rollbackExactNode(key, RadixNode::rollback);
+  }
+
+  @Override
+  public boolean rollbackNodeToVersion(String key, long version) {
+    validateKey(key);
+    if (version < 0) {
+      throw new IllegalArgumentException("Version cannot be negative");
+    }
+    return rollbackExactNode(key, node -> node.rollbackToVersion(version));
+  }
+
+  private boolean rollbackExactNode(String key, Predicate<RadixNode<V>> rollback) {
+    List<RadixNode<V>> path = lockPath(key);
+    if (path == null) {
+      return false;
+    }
+    RadixNode<V> node = path.remove(path.size() - 1);
+    boolean result;
+    try {
+      node.lockWrite();
+      try {
+        if (path.isEmpty() || node.isRemoved()) {
+          return false;
+        }
+        boolean wasEndOfWord = node.isEndOfWord();
+        result = rollback.test(node);
+        if (result) {
+          int delta = Boolean.compare(node.isEndOfWord(), wasEndOfWord);
+          if (delta != 0) {
+            size.add(delta);
+            adjustCounts(path, delta);
+            node.addSubtreeCount(delta);
+          }
+          incrementGlobalVersion();
+        }
+      } finally {
+        node.unlockWrite();
+      }
+    } finally {
+      unlockAll(path);
+    }
+    if (result) {
+      syncIndex(key);
+    }
+    return result;
+  }
+
+  @Override
+  public Map<Long, TrieSnapshot<V>> getSnapshots() {
+    return snapshotManager.getAllSnapshots();
+  }
+
+  @Override
+  public boolean deleteSnapshot(long snapshotId) {
+    return snapshotManager.deleteSnapshot(snapshotId);
+  }
+
+  @Override
+  public int getSnapshotCount() {
+    return snapshotManager.getSnapshotCount();
+  }
+
+  @Override
+  public void clearAllSnapshots() {
+    snapshotManager.clearAllSnapshots();
+  }
+
+  @Override
+  public void clearNodeSnapshotHistory() {
+    clearNodeSnapshotHistoryRecursive(root);
+  }
+
+  private void clearNodeSnapshotHistoryRecursive(RadixNode<V> node) {
+    node.lockWrite();
+    try {
+      node.clearSnapshotHistory();
+      node.forEachChild((key, child) -> clearNodeSnapshotHistoryRecursive(child));
+    } finally {
+      node.unlockWrite();
+    }
+  }
+
+  private static class PathMatch<V> {
+    private final RadixNode<V> parent;
+    private final RadixNode<V> node;
+    private final String path;
+
+    PathMatch(RadixNode<V> parent, RadixNode<V> node, String path) {
+      this.parent = parent;
+      this.node = node;
+      this.path = path;
+    }
+  }
+}
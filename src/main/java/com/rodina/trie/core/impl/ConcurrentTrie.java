@@ -1,40 +1,139 @@
 package com.rodina.trie.core.impl;
 
 import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.node.StripedLockPool;
 import com.rodina.trie.core.node.TrieNode;
 import com.rodina.trie.core.snapshot.TrieSnapshot;
 import com.rodina.trie.core.snapshot.TrieSnapshotManager;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.core.util.GlobPattern;
+import com.rodina.trie.core.util.KeyAutomaton;
+import com.rodina.trie.core.util.LevenshteinAutomaton;
+import com.rodina.trie.core.util.RandomIndices;
+import com.rodina.trie.core.util.RankedCompletions;
+import com.rodina.trie.core.util.ScoredCompletion;
+import com.rodina.trie.core.util.TopCompletions;
+import com.rodina.trie.core.util.TrieEntry;
 import com.rodina.trie.core.util.TrieIterator;
+import com.rodina.trie.core.util.TrieSpliterator;
 import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterators;
 import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ConcurrentTrie<V> implements Trie<V> {
+  private static final TrieNode<?> CONFLICT = new TrieNode<>(NodeMode.LEAN);
+  private static final int INITIAL_WALK_DEPTH = 16;
   private final TrieNode<V> root;
-  private final AtomicInteger size;
+  private final LongAdder size;
   private final TrieSnapshotManager<V> snapshotManager;
   private final AtomicLong globalVersion;
+  private final ReadMode readMode;
+  private final StripedLockPool lockPool;
+  private final AccessSampler accessSampler;
+  private final SubstringIndex substringIndex;
+  private final int completionTopK;
 
   public ConcurrentTrie() {
     this(10);
   }
 
   public ConcurrentTrie(int maxSnapshots) {
+    this(maxSnapshots, NodeMode.FULL);
+  }
+
+  public ConcurrentTrie(int maxSnapshots, NodeMode nodeMode) {
+    this(maxSnapshots, nodeMode, ReadMode.LOCKED);
+  }
+
+  public ConcurrentTrie(int maxSnapshots, NodeMode nodeMode, ReadMode readMode) {
+    this(maxSnapshots, nodeMode, readMode, null);
+  }
+
+  public ConcurrentTrie(
+      int maxSnapshots, NodeMode nodeMode, ReadMode readMode, StripedLockPool lockPool) {
+    this(maxSnapshots, nodeMode, readMode, lockPool, new AccessSampler());
+  }
+
+  public ConcurrentTrie(
+      int maxSnapshots,
+      NodeMode nodeMode,
+      ReadMode readMode,
+      StripedLockPool lockPool,
+      AccessSampler accessSampler) {
+    this(maxSnapshots, nodeMode, readMode, lockPool, accessSampler, null);
+  }
+
+  public ConcurrentTrie(
+      int maxSnapshots,
+      NodeMode nodeMode,
+      ReadMode readMode,
+      StripedLockPool lockPool,
+      AccessSampler accessSampler,
+      SubstringIndex substringIndex) {
+    this(maxSnapshots, nodeMode, readMode, lockPool, accessSampler, substringIndex, 0);
+  }
+
+  public ConcurrentTrie(
+      int maxSnapshots,
+      NodeMode nodeMode,
+      ReadMode readMode,
+      StripedLockPool lockPool,
+      AccessSampler accessSampler,
+      SubstringIndex substringIndex,
+      int completionTopK) {
     if (maxSnapshots <= 0) {
       throw new IllegalArgumentException("Max snapshots must be greater than 0");
     }
-    this.root = new TrieNode<>();
-    this.size = new AtomicInteger(0);
+    if (completionTopK < 0) {
+      throw new IllegalArgumentException("Completion top K cannot be negative");
+    }
+    this.root = new TrieNode<>(nodeMode, readMode == ReadMode.LOCK_FREE, lockPool);
+    this.size = new LongAdder();
     this.snapshotManager = new TrieSnapshotManager<>(maxSnapshots);
     this.globalVersion = new AtomicLong(0);
+    this.readMode = readMode;
+    this.lockPool = lockPool;
+    this.accessSampler = accessSampler;
+    this.substringIndex = substringIndex;
+    this.completionTopK = completionTopK;
+  }
+
+  public ReadMode getReadMode() {
+    return readMode;
+  }
+
+  public StripedLockPool getLockPool() {
+    return lockPool;
+  }
+
+  public AccessSampler getAccessSampler() {
+    return accessSampler;
+  }
+
+  public SubstringIndex getSubstringIndex() {
+    return substringIndex;
+  }
+
+  public int getCompletionTopK() {
+    return completionTopK;
   }
 
   @Override
@@ -43,8 +142,22 @@ public class ConcurrentTrie<V> implements Trie<V> {
     if (value == null) {
       throw new IllegalArgumentException("Value cannot be null");
     }
+    if (lockPool != null) {
+      while (!tryInsertStriped(key, value)) {
+        Thread.onSpinWait();
+      }
+    } else {
+      insertLocked(key, value);
+    }
+    syncIndex(key);
+    refreshCompletions(key);
+  }
+
+  private void insertLocked(String key, V value) {
+    List<TrieNode<V>> path = new ArrayList<>(key.length() + 1);
     TrieNode<V> currentNode = root;
     currentNode.lockRead();
+    path.add(currentNode);
     try {
       for (int i = 0; i < key.length(); i++) {
         char charCode = key.charAt(i);
@@ -65,205 +178,1158 @@ public class ConcurrentTrie<V> implements Trie<V> {
         nextNode.lockRead();
         currentNode.unlockRead();
         currentNode = nextNode;
+        path.add(currentNode);
       }
       currentNode.unlockRead();
       currentNode.lockWrite();
       try {
-        if (!currentNode.isEndOfWord()) {
-          currentNode.setEndOfWord(true);
-          size.incrementAndGet();
-        }
-        currentNode.setValue(value);
+        if (!currentNode.isEndOfWord()) {
+          currentNode.setEndOfWord(true);
+          size.increment();
+          adjustCounts(path, 1);
+        }
+        currentNode.setValue(value);
+      } finally {
+        currentNode.unlockWrite();
+      }
+    } finally {
+      try {
+        currentNode.unlockRead();
+      } catch (IllegalMonitorStateException e) {
+      }
+    }
+  }
+
+  @Override
+  public Optional<V> search(String key) {
+    validateKey(key);
+    Optional<V> result = lookup(key);
+    if (result.isPresent() && accessSampler.sample()) {
+      recordAccess(key, findNode(key));
+    }
+    return result;
+  }
+
+  @Override
+  public Map<String, V> searchAll(Collection<String> keys) {
+    List<String> sortedKeys = sortedKeys(keys);
+    Map<String, V> results = new LinkedHashMap<>();
+    List<TrieNode<V>> path = new ArrayList<>();
+    path.add(root);
+    String previous = "";
+    for (String key : sortedKeys) {
+      int depth = Math.min(commonPrefixLength(previous, key), path.size() - 1);
+      path.subList(depth + 1, path.size()).clear();
+      TrieNode<V> node = path.get(depth);
+      for (int i = depth; i < key.length() && node != null; i++) {
+        node = childOf(node, key.charAt(i));
+        if (node != null) {
+          path.add(node);
+        }
+      }
+      V value = node == null ? null : valueOf(node);
+      if (value != null) {
+        results.put(key, value);
+        if (accessSampler.sample()) {
+          recordAccess(key, node);
+        }
+      }
+      previous = key;
+    }
+    return results;
+  }
+
+  private List<String> sortedKeys(Collection<String> keys) {
+    if (keys == null) {
+      throw new InvalidKeyException("Keys cannot be null");
+    }
+    keys.forEach(this::validateKey);
+    return keys.stream().sorted().distinct().toList();
+  }
+
+  private static int commonPrefixLength(String first, String second) {
+    int limit = Math.min(first.length(), second.length());
+    int i = 0;
+    while (i < limit && first.charAt(i) == second.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+  private V valueOf(TrieNode<V> node) {
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      return node.isEndOfWord() ? node.getValue() : null;
+    } finally {
+      if (locked) {
+        node.unlockRead();
+      }
+    }
+  }
+
+  private void recordAccess(String key, TrieNode<V> node) {
+    if (node != null && node.isEndOfWord()) {
+      node.incrementAccessCount(accessSampler.epoch());
+      refreshCompletions(key);
+    }
+  }
+
+  private void refreshCompletions(String key) {
+    if (completionTopK == 0) {
+      return;
+    }
+    List<TrieNode<V>> path = new ArrayList<>(key.length() + 1);
+    TrieNode<V> node = root;
+    while (node != null) {
+      path.add(node);
+      node = path.size() <= key.length() ? childOf(node, key.charAt(path.size() - 1)) : null;
+    }
+    int epoch = accessSampler.epoch();
+    for (int depth = path.size() - 1; depth >= 0; depth--) {
+      if (!rerank(path.get(depth), key.substring(0, depth), epoch)) {
+        return;
+      }
+    }
+  }
+
+  private boolean rerank(TrieNode<V> node, String path, int epoch) {
+    boolean changed = false;
+    while (true) {
+      RankedCompletions current = node.getTopCompletions();
+      if (current == null) {
+        return false;
+      }
+      RankedCompletions updated = rankCompletions(node, path, epoch);
+      if (updated.sameRanking(current.decayTo(epoch))) {
+        return changed;
+      }
+      changed |= node.compareAndSetTopCompletions(current, updated);
+    }
+  }
+
+  private RankedCompletions rankCompletions(TrieNode<V> node, String path, int epoch) {
+    TopCompletions top = new TopCompletions(completionTopK);
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      if (hasEntry(node)) {
+        top.offer(path, node.getAccessCount(epoch));
+      }
+      node.forEachChild(
+          (key, child) -> {
+            RankedCompletions cached = child.getTopCompletions();
+            if (cached != null) {
+              cached.decayTo(epoch).forEach(top::offer);
+            }
+          });
+    } finally {
+      if (locked) {
+        node.unlockRead();
+      }
+    }
+    return new RankedCompletions(epoch, top.toList());
+  }
+
+  private void rebuildCompletions(TrieNode<V> node, String path, int epoch) {
+    node.forEachChild((key, child) -> rebuildCompletions(child, path + key, epoch));
+    node.setTopCompletions(rankCompletions(node, path, epoch));
+  }
+
+  private Optional<V> lookup(String key) {
+    if (readMode == ReadMode.LOCK_FREE) {
+      return searchLockFree(key);
+    }
+    if (readMode == ReadMode.OPTIMISTIC) {
+      Optional<V> result = searchOptimistic(key);
+      if (result != null) {
+        return result;
+      }
+    }
+    if (lockPool != null) {
+      return searchStriped(key);
+    }
+    TrieNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      for (int i = 0; i < key.length(); i++) {
+        char charCode = key.charAt(i);
+        TrieNode<V> nextNode = currentNode.getChild(charCode);
+        if (nextNode == null) {
+          return Optional.empty();
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+      }
+      if (currentNode.isEndOfWord()) {
+        return Optional.ofNullable(currentNode.getValue());
+      } else {
+        return Optional.empty();
+      }
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  private Optional<V> searchLockFree(String key) {
+    TrieNode<V> node = findNodeLockFree(key);
+    if (node == null || !node.isEndOfWord()) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(node.getValue());
+  }
+
+  private Optional<V> searchOptimistic(String key) {
+    TrieNode<V> currentNode = root;
+    long stamp = currentNode.tryOptimisticRead();
+    for (int i = 0; i < key.length(); i++) {
+      TrieNode<V> nextNode = currentNode.getChild(key.charAt(i));
+      if (nextNode == null) {
+        return currentNode.validate(stamp) ? Optional.empty() : null;
+      }
+      long nextStamp = nextNode.tryOptimisticRead();
+      if (!currentNode.validate(stamp)) {
+        return null;
+      }
+      currentNode = nextNode;
+      stamp = nextStamp;
+    }
+    boolean endOfWord = currentNode.isEndOfWord();
+    V value = currentNode.getValue();
+    if (!currentNode.validate(stamp)) {
+      return null;
+    }
+    return endOfWord ? Optional.ofNullable(value) : Optional.empty();
+  }
+
+  @Override
+  public boolean delete(String key) {
+    validateKey(key);
+    boolean deleted = lockPool != null ? deleteStriped(key) : deleteLocked(key);
+    if (deleted) {
+      syncIndex(key);
+      refreshCompletions(key);
+    }
+    return deleted;
+  }
+
+  private void syncIndex(String key) {
+    if (substringIndex != null) {
+      substringIndex.sync(key, indexed -> lookup(indexed).isPresent());
+    }
+  }
+
+  private void rebuildIndex() {
+    if (substringIndex != null) {
+      substringIndex.clear();
+      iterator().forEachRemaining(entry -> syncIndex(entry.getKey()));
+    }
+  }
+
+  private boolean deleteLocked(String key) {
+    Stack<TrieNode<V>> nodeStack = new Stack<>();
+    TrieNode<V> currentNode = root;
+    currentNode.lockRead();
+    nodeStack.push(currentNode);
+    try {
+      for (int i = 0; i < key.length(); i++) {
+        char charCode = key.charAt(i);
+        TrieNode<V> nextNode = currentNode.getChild(charCode);
+        if (nextNode == null) {
+          releaseLocks(nodeStack);
+          return false;
+        }
+        nextNode.lockRead();
+        currentNode = nextNode;
+        nodeStack.push(currentNode);
+      }
+      TrieNode<V> targetNode = nodeStack.peek();
+      targetNode.unlockRead();
+      targetNode.lockWrite();
+      boolean deleted = false;
+      try {
+        if (targetNode.isEndOfWord()) {
+          targetNode.setEndOfWord(false);
+          targetNode.setValue(null);
+          size.decrement();
+          adjustCounts(nodeStack, -1);
+          deleted = true;
+        }
+      } finally {
+        targetNode.readLockFromWriteLock();
+        targetNode.unlockWrite();
+      }
+      if (!deleted) {
+        releaseLocks(nodeStack);
+        return false;
+      }
+      cleanUpNodes(key, nodeStack);
+      return true;
+    } catch (Exception e) {
+      releaseLocks(nodeStack);
+      throw e;
+    }
+  }
+
+  private void cleanUpNodes(String key, Stack<TrieNode<V>> nodeStack) {
+    if (nodeStack.isEmpty()) return;
+    TrieNode<V> child = nodeStack.pop();
+    int charIndex = key.length() - 1;
+    while (!nodeStack.isEmpty() && charIndex >= 0) {
+      TrieNode<V> parent = nodeStack.peek();
+      char charCode = key.charAt(charIndex);
+      child.unlockRead();
+      child.lockWrite();
+      boolean canDeleteChild = false;
+      try {
+        if (!child.isEndOfWord() && !child.hasChildren()) {
+          canDeleteChild = true;
+        }
+      } finally {
+        child.unlockWrite();
+      }
+      if (canDeleteChild) {
+        parent.unlockRead();
+        parent.lockWrite();
+        try {
+          TrieNode<V> currentChild = parent.getChild(charCode);
+          if (currentChild != null) {
+            currentChild.lockRead();
+            try {
+              if (!currentChild.isEndOfWord() && !currentChild.hasChildren()) {
+                parent.removeChild(charCode);
+              }
+            } finally {
+              currentChild.unlockRead();
+            }
+          }
+        } finally {
+          parent.readLockFromWriteLock();
+          parent.unlockWrite();
+        }
+      } else {
+        break;
+      }
+      child = nodeStack.pop();
+      charIndex--;
+    }
+    releaseLocks(nodeStack);
+    if (child != null) {
+      try {
+        child.unlockRead();
+      } catch (IllegalMonitorStateException e) {
+      }
+    }
+  }
+
+  private void releaseLocks(Stack<TrieNode<V>> stack) {
+    while (!stack.isEmpty()) {
+      TrieNode<V> node = stack.pop();
+      try {
+        node.unlockRead();
+      } catch (IllegalMonitorStateException e) {
+      }
+    }
+  }
+
+  private void adjustCounts(List<TrieNode<V>> path, int delta) {
+    for (TrieNode<V> node : path) {
+      node.addSubtreeCount(delta);
+    }
+  }
+
+  private boolean tryInsertStriped(String key, V value) {
+    List<TrieNode<V>> path = new ArrayList<>(key.length() + 1);
+    TrieNode<V> parentNode = null;
+    TrieNode<V> currentNode = root;
+    path.add(currentNode);
+    for (int i = 0; i < key.length(); i++) {
+      char charCode = key.charAt(i);
+      TrieNode<V> nextNode;
+      boolean removed;
+      currentNode.lockRead();
+      try {
+        removed = currentNode.isRemoved();
+        nextNode = removed ? null : currentNode.getChild(charCode);
+      } finally {
+        currentNode.unlockRead();
+      }
+      if (removed) {
+        unlinkRemoved(parentNode, key.charAt(i - 1), currentNode);
+        return false;
+      }
+      if (nextNode == null) {
+        currentNode.lockWrite();
+        try {
+          if (currentNode.isRemoved()) {
+            return false;
+          }
+          nextNode = currentNode.addChild(charCode);
+        } finally {
+          currentNode.unlockWrite();
+        }
+      }
+      parentNode = currentNode;
+      currentNode = nextNode;
+      path.add(currentNode);
+    }
+    currentNode.lockWrite();
+    try {
+      if (!currentNode.isRemoved()) {
+        if (!currentNode.isEndOfWord()) {
+          currentNode.setEndOfWord(true);
+          size.increment();
+          adjustCounts(path, 1);
+        }
+        currentNode.setValue(value);
+        return true;
+      }
+    } finally {
+      currentNode.unlockWrite();
+    }
+    unlinkRemoved(parentNode, key.charAt(key.length() - 1), currentNode);
+    return false;
+  }
+
+  private void unlinkRemoved(TrieNode<V> parent, char charCode, TrieNode<V> removed) {
+    parent.lockWrite();
+    try {
+      if (parent.getChild(charCode) == removed) {
+        parent.removeChild(charCode);
+      }
+    } finally {
+      parent.unlockWrite();
+    }
+  }
+
+  private Optional<V> searchStriped(String key) {
+    TrieNode<V> node = findNodeStriped(key);
+    if (node == null) {
+      return Optional.empty();
+    }
+    node.lockRead();
+    try {
+      if (node.isEndOfWord()) {
+        return Optional.ofNullable(node.getValue());
+      }
+      return Optional.empty();
+    } finally {
+      node.unlockRead();
+    }
+  }
+
+  private TrieNode<V> findNodeStriped(String prefix) {
+    TrieNode<V> currentNode = root;
+    for (int i = 0; i < prefix.length(); i++) {
+      TrieNode<V> nextNode;
+      currentNode.lockRead();
+      try {
+        nextNode = currentNode.getChild(prefix.charAt(i));
+      } finally {
+        currentNode.unlockRead();
+      }
+      if (nextNode == null) {
+        return null;
+      }
+      currentNode = nextNode;
+    }
+    currentNode.lockRead();
+    try {
+      return currentNode.isRemoved() ? null : currentNode;
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  private boolean deleteStriped(String key) {
+    List<TrieNode<V>> path = new ArrayList<>(key.length() + 1);
+    path.add(root);
+    TrieNode<V> currentNode = root;
+    for (int i = 0; i < key.length(); i++) {
+      TrieNode<V> nextNode;
+      currentNode.lockRead();
+      try {
+        nextNode = currentNode.getChild(key.charAt(i));
+      } finally {
+        currentNode.unlockRead();
+      }
+      if (nextNode == null) {
+        return false;
+      }
+      path.add(nextNode);
+      currentNode = nextNode;
+    }
+    currentNode.lockWrite();
+    try {
+      if (currentNode.isRemoved() || !currentNode.isEndOfWord()) {
+        return false;
+      }
+      currentNode.setEndOfWord(false);
+      currentNode.setValue(null);
+      size.decrement();
+      adjustCounts(path, -1);
+    } finally {
+      currentNode.unlockWrite();
+    }
+    pruneStriped(key, path);
+    return true;
+  }
+
+  private void pruneStriped(String key, List<TrieNode<V>> path) {
+    for (int depth = path.size() - 1; depth > 0; depth--) {
+      TrieNode<V> node = path.get(depth);
+      node.lockWrite();
+      try {
+        if (node.isRemoved() || node.isEndOfWord() || node.hasChildren()) {
+          return;
+        }
+        node.markRemoved();
+      } finally {
+        node.unlockWrite();
+      }
+      unlinkRemoved(path.get(depth - 1), key.charAt(depth - 1), node);
+    }
+  }
+
+  @Override
+  public boolean has(String key) {
+    validateKey(key);
+    return lookup(key).isPresent();
+  }
+
+  @Override
+  public boolean startsWith(String prefix) {
+    validatePrefix(prefix);
+    TrieNode<V> node = findNode(prefix);
+    return node != null;
+  }
+
+  @Override
+  public int countByPrefix(String prefix) {
+    validatePrefix(prefix);
+    TrieNode<V> node = findNode(prefix);
+    return node == null ? 0 : Math.max(node.getSubtreeCount(), 0);
+  }
+
+  @Override
+  public int rank(String key) {
+    validateKey(key);
+    int rank = 0;
+    TrieNode<V> node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      char character = key.charAt(i);
+      if (node.isEndOfWord()) {
+        rank++;
+      }
+      rank += countChildrenBelow(node, character);
+      node = childOf(node, character);
+    }
+    return rank;
+  }
+
+  private int countChildrenBelow(TrieNode<V> node, char bound) {
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      int count = 0;
+      int childKey = node.ceilingChildKey(0);
+      while (childKey >= 0 && childKey < bound) {
+        TrieNode<V> child = node.getChild((char) childKey);
+        count += child == null ? 0 : child.getSubtreeCount();
+        childKey = node.ceilingChildKey(childKey + 1);
+      }
+      return count;
+    } finally {
+      if (locked) {
+        node.unlockRead();
+      }
+    }
+  }
+
+  @Override
+  public Optional<String> select(String prefix, int index) {
+    validatePrefix(prefix);
+    validateIndex(index);
+    TrieNode<V> node = findNode(prefix);
+    StringBuilder path = new StringBuilder(prefix);
+    int remaining = index;
+    while (node != null) {
+      if (node.isEndOfWord()) {
+        if (remaining == 0) {
+          return Optional.of(path.toString());
+        }
+        remaining--;
+      }
+      TrieNode<V> next = null;
+      boolean locked = !node.isCopyOnWrite();
+      if (locked) {
+        node.lockRead();
+      }
+      try {
+        int childKey = node.ceilingChildKey(0);
+        while (childKey >= 0) {
+          TrieNode<V> child = node.getChild((char) childKey);
+          int count = child == null ? 0 : child.getSubtreeCount();
+          if (remaining < count) {
+            next = child;
+            path.append((char) childKey);
+            break;
+          }
+          remaining -= count;
+          childKey = node.ceilingChildKey(childKey + 1);
+        }
+      } finally {
+        if (locked) {
+          node.unlockRead();
+        }
+      }
+      node = next;
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<String> sample(String prefix, int size) {
+    validatePrefix(prefix);
+    if (size <= 0) {
+      throw new IllegalArgumentException("Sample size must be greater than 0");
+    }
+    List<String> keys = new ArrayList<>();
+    for (int index : RandomIndices.distinct(countByPrefix(prefix), size)) {
+      select(prefix, index).ifPresent(keys::add);
+    }
+    return keys;
+  }
+
+  @Override
+  public Optional<Map.Entry<String, V>> longestPrefixOf(String input) {
+    List<Map.Entry<String, V>> prefixes = collectPrefixes(input, true);
+    return prefixes.isEmpty() ? Optional.empty() : Optional.of(prefixes.get(0));
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> allPrefixesOf(String input) {
+    return collectPrefixes(input, false);
+  }
+
+  private List<Map.Entry<String, V>> collectPrefixes(String input, boolean longestOnly) {
+    validateInput(input);
+    if (readMode == ReadMode.LOCK_FREE) {
+      return collectPrefixesLockFree(input, longestOnly);
+    }
+    if (readMode == ReadMode.OPTIMISTIC) {
+      List<Map.Entry<String, V>> prefixes = collectPrefixesOptimistic(input, longestOnly);
+      if (prefixes != null) {
+        return prefixes;
+      }
+    }
+    if (lockPool != null) {
+      return collectPrefixesStriped(input, longestOnly);
+    }
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    TrieNode<V> currentNode = root;
+    currentNode.lockRead();
+    try {
+      for (int i = 0; ; i++) {
+        if (currentNode.isEndOfWord()) {
+          addPrefix(prefixes, input, i, currentNode.getValue(), longestOnly);
+        }
+        if (i == input.length()) {
+          return prefixes;
+        }
+        TrieNode<V> nextNode = currentNode.getChild(input.charAt(i));
+        if (nextNode == null) {
+          return prefixes;
+        }
+        nextNode.lockRead();
+        currentNode.unlockRead();
+        currentNode = nextNode;
+      }
+    } finally {
+      currentNode.unlockRead();
+    }
+  }
+
+  private List<Map.Entry<String, V>> collectPrefixesLockFree(String input, boolean longestOnly) {
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    TrieNode<V> currentNode = root;
+    for (int i = 0; currentNode != null; i++) {
+      if (currentNode.isEndOfWord()) {
+        addPrefix(prefixes, input, i, currentNode.getValue(), longestOnly);
+      }
+      currentNode = i < input.length() ? currentNode.getChild(input.charAt(i)) : null;
+    }
+    return prefixes;
+  }
+
+  private List<Map.Entry<String, V>> collectPrefixesOptimistic(String input, boolean longestOnly) {
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    TrieNode<V> currentNode = root;
+    long stamp = currentNode.tryOptimisticRead();
+    for (int i = 0; ; i++) {
+      boolean endOfWord = currentNode.isEndOfWord();
+      V value = currentNode.getValue();
+      TrieNode<V> nextNode = i < input.length() ? currentNode.getChild(input.charAt(i)) : null;
+      long nextStamp = nextNode != null ? nextNode.tryOptimisticRead() : 0L;
+      if (!currentNode.validate(stamp)) {
+        return null;
+      }
+      if (endOfWord) {
+        addPrefix(prefixes, input, i, value, longestOnly);
+      }
+      if (nextNode == null) {
+        return prefixes;
+      }
+      currentNode = nextNode;
+      stamp = nextStamp;
+    }
+  }
+
+  private List<Map.Entry<String, V>> collectPrefixesStriped(String input, boolean longestOnly) {
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    TrieNode<V> currentNode = root;
+    for (int i = 0; currentNode != null; i++) {
+      TrieNode<V> nextNode;
+      currentNode.lockRead();
+      try {
+        if (currentNode.isRemoved()) {
+          return prefixes;
+        }
+        if (currentNode.isEndOfWord()) {
+          addPrefix(prefixes, input, i, currentNode.getValue(), longestOnly);
+        }
+        nextNode = i < input.length() ? currentNode.getChild(input.charAt(i)) : null;
+      } finally {
+        currentNode.unlockRead();
+      }
+      currentNode = nextNode;
+    }
+    return prefixes;
+  }
+
+  private void addPrefix(
+      List<Map.Entry<String, V>> prefixes, String input, int length, V value, boolean longestOnly) {
+    if (value == null) {
+      return;
+    }
+    if (longestOnly) {
+      prefixes.clear();
+    }
+    prefixes.add(new TrieEntry<>(input.substring(0, length), value));
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix) {
+    validatePrefix(prefix);
+    TrieNode<V> prefixRoot = findNode(prefix);
+    if (prefixRoot == null) {
+      return Collections.emptyList();
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    TrieIterator<V> iterator = new TrieIterator<>(prefixRoot, prefix);
+    while (iterator.hasNext()) {
+      results.add(iterator.next());
+    }
+    return results;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix, String after, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    TrieNode<V> prefixRoot = findNode(prefix);
+    if (prefixRoot == null) {
+      return Collections.emptyList();
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    TrieIterator<V> iterator = new TrieIterator<>(prefixRoot, prefix, after);
+    while (iterator.hasNext() && results.size() < limit) {
+      results.add(iterator.next());
+    }
+    return results;
+  }
+
+  @Override
+  public List<String> autocomplete(String prefix, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    TrieNode<V> prefixRoot = findNode(prefix);
+    if (prefixRoot == null) {
+      return Collections.emptyList();
+    }
+    if (accessSampler.sample()) {
+      recordAccess(prefix, prefixRoot);
+    }
+    List<String> results = new ArrayList<>();
+    if (completionTopK > 0) {
+      for (ScoredCompletion completion : rankedCompletions(prefix, prefixRoot, limit)) {
+        results.add(completion.getKey());
+      }
+      return results;
+    }
+    TrieIterator<V> iterator = new TrieIterator<>(prefixRoot, prefix);
+    while (iterator.hasNext() && results.size() < limit) {
+      results.add(iterator.next().getKey());
+    }
+    return results;
+  }
+
+  @Override
+  public List<ScoredCompletion> popularCompletions(String prefix, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    TrieNode<V> prefixRoot = findNode(prefix);
+    if (prefixRoot == null) {
+      return Collections.emptyList();
+    }
+    return rankedCompletions(prefix, prefixRoot, limit);
+  }
+
+  private List<ScoredCompletion> rankedCompletions(
+      String prefix, TrieNode<V> prefixRoot, int limit) {
+    int epoch = accessSampler.epoch();
+    RankedCompletions cached = limit <= completionTopK ? prefixRoot.getTopCompletions() : null;
+    if (cached != null) {
+      return cached.decayTo(epoch).top(limit);
+    }
+    TopCompletions top = new TopCompletions(limit);
+    int baseLength = prefix.length();
+    char[] path = Arrays.copyOf(prefix.toCharArray(), baseLength + INITIAL_WALK_DEPTH);
+    @SuppressWarnings("unchecked")
+    TrieNode<V>[] nodes = (TrieNode<V>[]) new TrieNode<?>[INITIAL_WALK_DEPTH];
+    int[] depths = new int[INITIAL_WALK_DEPTH];
+    char[] keys = new char[INITIAL_WALK_DEPTH];
+    nodes[0] = prefixRoot;
+    int pending = 1;
+    while (pending > 0) {
+      TrieNode<V> node = nodes[--pending];
+      nodes[pending] = null;
+      int depth = depths[pending];
+      if (depth > 0) {
+        if (baseLength + depth > path.length) {
+          path = Arrays.copyOf(path, path.length * 2);
+        }
+        path[baseLength + depth - 1] = keys[pending];
+      }
+      boolean locked = !node.isCopyOnWrite();
+      if (locked) {
+        node.lockRead();
+      }
+      try {
+        if (node.isEndOfWord() && node.getValue() != null) {
+          top.offer(new String(path, 0, baseLength + depth), node.getAccessCount(epoch));
+        }
+        for (int key = node.ceilingChildKey(0); key >= 0; key = node.ceilingChildKey(key + 1)) {
+          TrieNode<V> child = node.getChild((char) key);
+          if (child == null) {
+            continue;
+          }
+          if (pending == nodes.length) {
+            nodes = Arrays.copyOf(nodes, pending * 2);
+            depths = Arrays.copyOf(depths, pending * 2);
+            keys = Arrays.copyOf(keys, pending * 2);
+          }
+          nodes[pending] = child;
+          depths[pending] = depth + 1;
+          keys[pending++] = (char) key;
+        }
+      } finally {
+        if (locked) {
+          node.unlockRead();
+        }
+      }
+    }
+    return top.toList();
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> fuzzySearch(String term, int maxEdits, int limit) {
+    validateTerm(term);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    LevenshteinAutomaton automaton = new LevenshteinAutomaton(term, maxEdits);
+    return collectMatches(root, "", automaton.start(), automaton, limit);
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> match(String pattern, int limit) {
+    GlobPattern glob = new GlobPattern(pattern);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    String literalPrefix = glob.getLiteralPrefix();
+    TrieNode<V> prefixRoot = findNode(literalPrefix);
+    if (prefixRoot == null) {
+      return Collections.emptyList();
+    }
+    BitSet state = glob.start();
+    for (int i = 0; i < literalPrefix.length(); i++) {
+      state = glob.step(state, literalPrefix.charAt(i));
+    }
+    return collectMatches(prefixRoot, literalPrefix, state, glob, limit);
+  }
+
+  private <S> List<Map.Entry<String, V>> collectMatches(
+      TrieNode<V> start, String startPath, S startState, KeyAutomaton<S> automaton, int limit) {
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    Deque<TrieNode<V>> nodes = new ArrayDeque<>();
+    Deque<String> paths = new ArrayDeque<>();
+    Deque<S> states = new ArrayDeque<>();
+    nodes.push(start);
+    paths.push(startPath);
+    states.push(startState);
+    List<Character> childKeys = new ArrayList<>();
+    List<TrieNode<V>> children = new ArrayList<>();
+    while (!nodes.isEmpty() && results.size() < limit) {
+      TrieNode<V> node = nodes.pop();
+      String path = paths.pop();
+      S state = states.pop();
+      childKeys.clear();
+      children.clear();
+      V value;
+      boolean endOfWord;
+      boolean locked = !node.isCopyOnWrite();
+      if (locked) {
+        node.lockRead();
+      }
+      try {
+        value = node.getValue();
+        endOfWord = node.isEndOfWord();
+        node.forEachChild(
+            (key, child) -> {
+              childKeys.add(key);
+              children.add(child);
+            });
       } finally {
-        currentNode.unlockWrite();
+        if (locked) {
+          node.unlockRead();
+        }
       }
-    } finally {
-      try {
-        currentNode.unlockRead();
-      } catch (IllegalMonitorStateException e) {
+      if (endOfWord && value != null && automaton.isMatch(state)) {
+        results.add(new TrieEntry<>(path, value));
+      }
+      for (int i = children.size() - 1; i >= 0; i--) {
+        char key = childKeys.get(i);
+        S childState = automaton.step(state, key);
+        if (automaton.canMatch(childState)) {
+          nodes.push(children.get(i));
+          paths.push(path + key);
+          states.push(childState);
+        }
       }
     }
+    return results;
   }
 
   @Override
-  public Optional<V> search(String key) {
-    validateKey(key);
-    TrieNode<V> currentNode = root;
-    currentNode.lockRead();
-    try {
-      for (int i = 0; i < key.length(); i++) {
-        char charCode = key.charAt(i);
-        TrieNode<V> nextNode = currentNode.getChild(charCode);
-        if (nextNode == null) {
-          return Optional.empty();
+  public List<Map.Entry<String, V>> range(
+      String fromKey, boolean fromInclusive, String toKey, boolean toInclusive, int limit) {
+    validateRange(fromKey, toKey);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    Iterator<Map.Entry<String, V>> iterator =
+        fromKey == null ? iterator() : new TrieIterator<>(root, "", fromKey, fromInclusive);
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    while (iterator.hasNext() && results.size() < limit) {
+      Map.Entry<String, V> entry = iterator.next();
+      if (toKey != null) {
+        int comparison = entry.getKey().compareTo(toKey);
+        if (comparison > 0 || (comparison == 0 && !toInclusive)) {
+          break;
         }
-        nextNode.lockRead();
-        currentNode.unlockRead();
-        currentNode = nextNode;
-      }
-      if (currentNode.isEndOfWord()) {
-        return Optional.ofNullable(currentNode.getValue());
-      } else {
-        return Optional.empty();
       }
-    } finally {
-      currentNode.unlockRead();
+      results.add(entry);
     }
+    return results;
   }
 
   @Override
-  public boolean delete(String key) {
+  public Optional<String> floorKey(String key) {
     validateKey(key);
-    Stack<TrieNode<V>> nodeStack = new Stack<>();
-    TrieNode<V> currentNode = root;
-    currentNode.lockRead();
-    nodeStack.push(currentNode);
-    try {
-      for (int i = 0; i < key.length(); i++) {
-        char charCode = key.charAt(i);
-        TrieNode<V> nextNode = currentNode.getChild(charCode);
-        if (nextNode == null) {
-          releaseLocks(nodeStack);
-          return false;
-        }
-        nextNode.lockRead();
-        currentNode = nextNode;
-        nodeStack.push(currentNode);
-      }
-      TrieNode<V> targetNode = nodeStack.peek();
-      targetNode.unlockRead();
-      targetNode.lockWrite();
-      boolean deleted = false;
-      try {
-        if (targetNode.isEndOfWord()) {
-          targetNode.setEndOfWord(false);
-          targetNode.setValue(null);
-          size.decrementAndGet();
-          deleted = true;
-        }
-      } finally {
-        targetNode.readLockFromWriteLock();
-        targetNode.unlockWrite();
-      }
-      if (!deleted) {
-        releaseLocks(nodeStack);
-        return false;
+    return Optional.ofNullable(lastKeyBefore(root, "", key, true));
+  }
+
+  @Override
+  public Optional<String> ceilingKey(String key) {
+    validateKey(key);
+    return firstKey(new TrieIterator<>(root, "", key, true));
+  }
+
+  @Override
+  public Optional<String> higherKey(String key) {
+    validateKey(key);
+    return firstKey(new TrieIterator<>(root, "", key, false));
+  }
+
+  @Override
+  public Optional<String> lowerKey(String key) {
+    validateKey(key);
+    return Optional.ofNullable(lastKeyBefore(root, "", key, false));
+  }
+
+  private Optional<String> firstKey(Iterator<Map.Entry<String, V>> iterator) {
+    return iterator.hasNext() ? Optional.of(iterator.next().getKey()) : Optional.empty();
+  }
+
+  private String lastKeyBefore(TrieNode<V> node, String path, String key, boolean inclusive) {
+    if (path.length() == key.length()) {
+      return inclusive && hasEntry(node) ? path : null;
+    }
+    char bound = key.charAt(path.length());
+    TrieNode<V> onPath = childOf(node, bound);
+    if (onPath != null) {
+      String last = lastKeyBefore(onPath, path + bound, key, inclusive);
+      if (last != null) {
+        return last;
       }
-      cleanUpNodes(key, nodeStack);
-      return true;
-    } catch (Exception e) {
-      releaseLocks(nodeStack);
-      throw e;
     }
+    String last = lastKeyBelow(node, path, bound - 1);
+    return last != null || !hasEntry(node) ? last : path;
   }
 
-  private void cleanUpNodes(String key, Stack<TrieNode<V>> nodeStack) {
-    if (nodeStack.isEmpty()) return;
-    TrieNode<V> child = nodeStack.pop();
-    int charIndex = key.length() - 1;
-    while (!nodeStack.isEmpty() && charIndex >= 0) {
-      TrieNode<V> parent = nodeStack.peek();
-      char charCode = key.charAt(charIndex);
-      child.unlockRead();
-      child.lockWrite();
-      boolean canDeleteChild = false;
+  private String lastKeyBelow(TrieNode<V> node, String path, int maxChild) {
+    int childKey = maxChild;
+    while (childKey >= 0) {
+      TrieNode<V> child;
+      boolean locked = !node.isCopyOnWrite();
+      if (locked) {
+        node.lockRead();
+      }
       try {
-        if (!child.isEndOfWord() && !child.hasChildren()) {
-          canDeleteChild = true;
-        }
+        childKey = node.floorChildKey(childKey);
+        child = childKey >= 0 ? node.getChild((char) childKey) : null;
       } finally {
-        child.unlockWrite();
-      }
-      if (canDeleteChild) {
-        parent.unlockRead();
-        parent.lockWrite();
-        try {
-          TrieNode<V> currentChild = parent.getChild(charCode);
-          if (currentChild != null) {
-            currentChild.lockRead();
-            try {
-              if (!currentChild.isEndOfWord() && !currentChild.hasChildren()) {
-                parent.removeChild(charCode);
-              }
-            } finally {
-              currentChild.unlockRead();
-            }
-          }
-        } finally {
-          parent.readLockFromWriteLock();
-          parent.unlockWrite();
+        if (locked) {
+          node.unlockRead();
         }
-      } else {
-        break;
       }
-      child = nodeStack.pop();
-      charIndex--;
-    }
-    releaseLocks(nodeStack);
-    if (child != null) {
-      try {
-        child.unlockRead();
-      } catch (IllegalMonitorStateException e) {
+      if (child != null) {
+        String childPath = path + (char) childKey;
+        String last = lastKeyBelow(child, childPath, Character.MAX_VALUE);
+        if (last != null || hasEntry(child)) {
+          return last != null ? last : childPath;
+        }
       }
+      childKey--;
     }
+    return null;
   }
 
-  private void releaseLocks(Stack<TrieNode<V>> stack) {
-    while (!stack.isEmpty()) {
-      TrieNode<V> node = stack.pop();
-      try {
+  private TrieNode<V> childOf(TrieNode<V> node, char character) {
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      return node.getChild(character);
+    } finally {
+      if (locked) {
         node.unlockRead();
-      } catch (IllegalMonitorStateException e) {
       }
     }
   }
 
-  @Override
-  public boolean has(String key) {
-    return search(key).isPresent();
+  private boolean hasEntry(TrieNode<V> node) {
+    return node.isEndOfWord() && node.getValue() != null;
   }
 
   @Override
-  public boolean startsWith(String prefix) {
-    validatePrefix(prefix);
-    TrieNode<V> node = findNode(prefix);
-    return node != null;
+  public List<Map.Entry<String, V>> endsWith(String suffix, int limit) {
+    validateSuffix(suffix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (substringIndex != null) {
+      return collectIndexed(substringIndex.keysEndingWith(suffix), limit);
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    iterator()
+        .forEachRemaining(
+            entry -> {
+              if (entry.getKey().endsWith(suffix)) {
+                results.add(entry);
+              }
+            });
+    results.sort(Map.Entry.comparingByKey(SubstringIndex.BY_REVERSED_KEY));
+    return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
   }
 
   @Override
-  public List<Map.Entry<String, V>> searchByPrefix(String prefix) {
-    validatePrefix(prefix);
-    TrieNode<V> prefixRoot = findNode(prefix);
-    if (prefixRoot == null) {
-      return Collections.emptyList();
+  public List<Map.Entry<String, V>> contains(String fragment, int limit) {
+    validateFragment(fragment);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (substringIndex != null && substringIndex.covers(fragment)) {
+      return collectIndexed(substringIndex.keysContaining(fragment), limit);
     }
     List<Map.Entry<String, V>> results = new ArrayList<>();
-    TrieIterator<V> iterator = new TrieIterator<>(prefixRoot, prefix);
-    while (iterator.hasNext()) {
-      results.add(iterator.next());
+    Iterator<Map.Entry<String, V>> iterator = iterator();
+    while (iterator.hasNext() && results.size() < limit) {
+      Map.Entry<String, V> entry = iterator.next();
+      if (entry.getKey().contains(fragment)) {
+        results.add(entry);
+      }
+    }
+    return results;
+  }
+
+  private List<Map.Entry<String, V>> collectIndexed(Iterator<String> keys, int limit) {
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    while (keys.hasNext() && results.size() < limit) {
+      String key = keys.next();
+      lookup(key).ifPresent(value -> results.add(new TrieEntry<>(key, value)));
     }
     return results;
   }
 
   @Override
-  public List<String> autocomplete(String prefix, int limit) {
+  public Stream<Map.Entry<String, V>> stream(String prefix) {
+    return stream(prefix, false);
+  }
+
+  @Override
+  public Stream<Map.Entry<String, V>> parallelStream(String prefix) {
+    return stream(prefix, true);
+  }
+
+  private Stream<Map.Entry<String, V>> stream(String prefix, boolean parallel) {
     validatePrefix(prefix);
-    if (limit <= 0) {
-      throw new IllegalArgumentException("Limit must be greater than 0");
-    }
     TrieNode<V> prefixRoot = findNode(prefix);
     if (prefixRoot == null) {
-      return Collections.emptyList();
-    }
-    List<String> results = new ArrayList<>();
-    TrieIterator<V> iterator = new TrieIterator<>(prefixRoot, prefix);
-    while (iterator.hasNext() && results.size() < limit) {
-      results.add(iterator.next().getKey());
+      return StreamSupport.stream(Spliterators.emptySpliterator(), parallel);
     }
-    return results;
+    return StreamSupport.stream(new TrieSpliterator<>(prefixRoot, prefix), parallel);
   }
 
   private TrieNode<V> findNode(String prefix) {
+    if (readMode == ReadMode.LOCK_FREE) {
+      return findNodeLockFree(prefix);
+    }
+    if (readMode == ReadMode.OPTIMISTIC) {
+      TrieNode<V> node = findNodeOptimistic(prefix);
+      if (node != CONFLICT) {
+        return node;
+      }
+    }
+    if (lockPool != null) {
+      return findNodeStriped(prefix);
+    }
     TrieNode<V> currentNode = root;
     currentNode.lockRead();
     try {
@@ -286,22 +1352,53 @@ public class ConcurrentTrie<V> implements Trie<V> {
     }
   }
 
+  private TrieNode<V> findNodeLockFree(String prefix) {
+    TrieNode<V> currentNode = root;
+    for (int i = 0; i < prefix.length() && currentNode != null; i++) {
+      currentNode = currentNode.getChild(prefix.charAt(i));
+    }
+    return currentNode;
+  }
+
+  @SuppressWarnings("unchecked")
+  private TrieNode<V> findNodeOptimistic(String prefix) {
+    TrieNode<V> conflict = (TrieNode<V>) CONFLICT;
+    TrieNode<V> currentNode = root;
+    long stamp = currentNode.tryOptimisticRead();
+    for (int i = 0; i < prefix.length(); i++) {
+      TrieNode<V> nextNode = currentNode.getChild(prefix.charAt(i));
+      if (nextNode == null) {
+        return currentNode.validate(stamp) ? null : conflict;
+      }
+      long nextStamp = nextNode.tryOptimisticRead();
+      if (!currentNode.validate(stamp)) {
+        return conflict;
+      }
+      currentNode = nextNode;
+      stamp = nextStamp;
+    }
+    return currentNode.validate(stamp) ? currentNode : conflict;
+  }
+
   @Override
   public int size() {
-    return size.get();
+    return size.intValue();
   }
 
   @Override
   public boolean isEmpty() {
-    return size.get() == 0;
+    return size.sum() == 0;
   }
 
   @Override
   public void clear() {
+    if (substringIndex != null) {
+      substringIndex.clear();
+    }
     root.lockWrite();
     try {
       root.clear();
-      size.set(0);
+      size.reset();
     } finally {
       root.unlockWrite();
     }
@@ -309,7 +1406,9 @@ public class ConcurrentTrie<V> implements Trie<V> {
 
   @Override
   public List<String> getAllKeys() {
-    return searchByPrefix("").stream().map(Map.Entry::getKey).collect(Collectors.toList());
+    List<String> keys = new ArrayList<>();
+    iterator().forEachRemaining(entry -> keys.add(entry.getKey()));
+    return keys;
   }
 
   @Override
@@ -317,30 +1416,25 @@ public class ConcurrentTrie<V> implements Trie<V> {
     TrieNode<V> currentNode = root;
     StringBuilder prefix = new StringBuilder();
     while (true) {
+      TrieNode<V> nextNode;
       currentNode.lockRead();
       try {
         if (currentNode.getChildrenCount() != 1 || currentNode.isEndOfWord()) {
           return prefix.toString();
         }
-        Iterator<Character> it = currentNode.getChildrenKeys().iterator();
-        if (!it.hasNext()) {
+        int onlyKey = currentNode.ceilingChildKey(0);
+        if (onlyKey < 0) {
           return prefix.toString();
         }
-        char nextChar = it.next();
-        prefix.append(nextChar);
-        TrieNode<V> nextNode = currentNode.getChild(nextChar);
+        nextNode = currentNode.getChild((char) onlyKey);
         if (nextNode == null) {
-          return prefix.substring(0, prefix.length() - 1);
+          return prefix.toString();
         }
-        nextNode.lockRead();
-        currentNode.unlockRead();
-        currentNode = nextNode;
+        prefix.append((char) onlyKey);
       } finally {
-        try {
-          currentNode.unlockRead();
-        } catch (Exception e) {
-        }
+        currentNode.unlockRead();
       }
+      currentNode = nextNode;
     }
   }
 
@@ -364,6 +1458,42 @@ public class ConcurrentTrie<V> implements Trie<V> {
     }
   }
 
+  private void validateTerm(String term) {
+    if (term == null) {
+      throw new InvalidKeyException("Term cannot be null");
+    }
+  }
+
+  private void validateSuffix(String suffix) {
+    if (suffix == null) {
+      throw new InvalidKeyException("Suffix cannot be null");
+    }
+  }
+
+  private void validateFragment(String fragment) {
+    if (fragment == null) {
+      throw new InvalidKeyException("Fragment cannot be null");
+    }
+  }
+
+  private void validateInput(String input) {
+    if (input == null) {
+      throw new InvalidKeyException("Input cannot be null");
+    }
+  }
+
+  private void validateIndex(int index) {
+    if (index < 0) {
+      throw new IllegalArgumentException("Index cannot be negative");
+    }
+  }
+
+  private void validateRange(String fromKey, String toKey) {
+    if (fromKey != null && toKey != null && fromKey.compareTo(toKey) > 0) {
+      throw new InvalidKeyException("Range start cannot be greater than range end");
+    }
+  }
+
   protected TrieNode<V> getRoot() {
     return root;
   }
@@ -379,9 +1509,12 @@ public class ConcurrentTrie<V> implements Trie<V> {
 
   @Override
   public long createSnapshot() {
+    if (lockPool != null) {
+      return snapshotManager.createSnapshot(root, size.intValue());
+    }
     root.lockRead();
     try {
-      return snapshotManager.createSnapshot(root, size.get());
+      return snapshotManager.createSnapshot(root, size.intValue());
     } finally {
       root.unlockRead();
     }
@@ -399,12 +1532,17 @@ public class ConcurrentTrie<V> implements Trie<V> {
       if (snapshot.getRoot() != null) {
         copyFromSnapshot(root, snapshot.getRoot());
       }
-      size.set(snapshot.getSize());
+      if (completionTopK > 0) {
+        rebuildCompletions(root, "", accessSampler.epoch());
+      }
+      size.reset();
+      size.add(snapshot.getSize());
       incrementGlobalVersion();
-      return true;
     } finally {
       root.unlockWrite();
     }
+    rebuildIndex();
+    return true;
   }
 
   private void copyFromSnapshot(TrieNode<V> target, TrieNode<V> source) {
@@ -413,15 +1551,16 @@ public class ConcurrentTrie<V> implements Trie<V> {
     }
     target.setValue(source.getValue());
     target.setEndOfWord(source.isEndOfWord());
+    target.setSubtreeCount(source.isEndOfWord() ? 1 : 0);
 
-    Map<Character, TrieNode<V>> children = source.getChildrenMapDirect();
-    if (children != null) {
-      for (Map.Entry<Character, TrieNode<V>> entry : children.entrySet()) {
-        TrieNode<V> childClone = new TrieNode<>();
-        copyFromSnapshot(childClone, entry.getValue());
-        target.setChild(entry.getKey(), childClone);
-      }
-    }
+    source.forEachChild(
+        (key, child) -> {
+          TrieNode<V> childClone =
+              new TrieNode<>(target.getMode(), target.isCopyOnWrite(), target.getLockPool());
+          copyFromSnapshot(childClone, child);
+          target.setChild(key, childClone);
+          target.addSubtreeCount(childClone.getSubtreeCount());
+        });
   }
 
   @Override
@@ -431,16 +1570,27 @@ public class ConcurrentTrie<V> implements Trie<V> {
     if (node == null) {
       return false;
     }
+    boolean result;
+    int delta;
     node.lockWrite();
     try {
-      boolean result = node.rollback();
+      boolean wasEndOfWord = node.isEndOfWord();
+      result = node.rollback();
       if (result) {
         incrementGlobalVersion();
       }
-      return result;
+      delta = Boolean.compare(node.isEndOfWord(), wasEndOfWord);
     } finally {
       node.unlockWrite();
     }
+    if (delta != 0) {
+      adjustCounts(key, delta);
+    }
+    if (result) {
+      syncIndex(key);
+      refreshCompletions(key);
+    }
+    return result;
   }
 
   @Override
@@ -453,16 +1603,40 @@ public class ConcurrentTrie<V> implements Trie<V> {
     if (node == null) {
       return false;
     }
+    boolean result;
+    int delta;
     node.lockWrite();
     try {
-      boolean result = node.rollbackToVersion(version);
+      boolean wasEndOfWord = node.isEndOfWord();
+      result = node.rollbackToVersion(version);
       if (result) {
         incrementGlobalVersion();
       }
-      return result;
+      delta = Boolean.compare(node.isEndOfWord(), wasEndOfWord);
     } finally {
       node.unlockWrite();
     }
+    if (delta != 0) {
+      adjustCounts(key, delta);
+    }
+    if (result) {
+      syncIndex(key);
+      refreshCompletions(key);
+    }
+    return result;
+  }
+
+  private void adjustCounts(String key, int delta) {
+    List<TrieNode<V>> path = new ArrayList<>(key.length() + 1);
+    TrieNode<V> currentNode = root;
+    path.add(currentNode);
+    for (int i = 0; i < key.length() && currentNode != null; i++) {
+      currentNode = currentNode.getChild(key.charAt(i));
+      path.add(currentNode);
+    }
+    if (currentNode != null) {
+      adjustCounts(path, delta);
+    }
   }
 
   private TrieNode<V> findNodeForWrite(String prefix) {
@@ -505,17 +1679,14 @@ public class ConcurrentTrie<V> implements Trie<V> {
 
   private void clearNodeSnapshotHistoryRecursive(TrieNode<V> node) {
     if (node == null) return;
+    List<TrieNode<V>> children = new ArrayList<>();
     node.lockWrite();
     try {
       node.clearSnapshotHistory();
-      Map<Character, TrieNode<V>> children = node.getChildrenMapDirect();
-      if (children != null) {
-        for (TrieNode<V> child : children.values()) {
-          clearNodeSnapshotHistoryRecursive(child);
-        }
-      }
+      node.forEachChild((key, child) -> children.add(child));
     } finally {
       node.unlockWrite();
     }
+    children.forEach(this::clearNodeSnapshotHistoryRecursive);
   }
 }
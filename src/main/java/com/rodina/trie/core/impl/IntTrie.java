@@ -0,0 +1,41 @@
+package com.rodina.trie.core.impl;
+
+import com.rodina.trie.core.node.IntTrieNode;
+import java.util.function.ObjIntConsumer;
+
+public class IntTrie extends PrimitiveTrie<IntTrieNode> {
+  public IntTrie() {
+    super(new IntTrieNode());
+  }
+
+  public void put(String key, int value) {
+    IntTrieNode node = lockNode(key);
+    try {
+      node.setValue(value);
+      markPresent(node);
+    } finally {
+      node.unlock();
+    }
+  }
+
+  public int getOrDefault(String key, int defaultValue) {
+    IntTrieNode node = findNode(key);
+    return node != null ? node.getValue() : defaultValue;
+  }
+
+  public int addTo(String key, int delta) {
+    IntTrieNode node = lockNode(key);
+    try {
+      int updated = (node.isEndOfWord() ? node.getValue() : 0) + delta;
+      node.setValue(updated);
+      markPresent(node);
+      return updated;
+    } finally {
+      node.unlock();
+    }
+  }
+
+  public void forEach(ObjIntConsumer<String> action) {
+    forEachNode((key, node) -> action.accept(key, node.getValue()));
+  }
+}
@@ -0,0 +1,41 @@
+package com.rodina.trie.core.impl;
+
+import com.rodina.trie.core.node.LongTrieNode;
+import java.util.function.ObjLongConsumer;
+
+public class LongTrie extends PrimitiveTrie<LongTrieNode> {
+  public LongTrie() {
+    super(new LongTrieNode());
+  }
+
+  public void put(String key, long value) {
+    LongTrieNode node = lockNode(key);
+    try {
+      node.setValue(value);
+      markPresent(node);
+    } finally {
+      node.unlock();
+    }
+  }
+
+  public long getOrDefault(String key, long defaultValue) {
+    LongTrieNode node = findNode(key);
+    return node != null ? node.getValue() : defaultValue;
+  }
+
+  public long addTo(String key, long delta) {
+    LongTrieNode node = lockNode(key);
+    try {
+      long updated = (node.isEndOfWord() ? node.getValue() : 0) + delta;
+      node.setValue(updated);
+      markPresent(node);
+      return updated;
+    } finally {
+      node.unlock();
+    }
+  }
+
+  public void forEach(ObjLongConsumer<String> action) {
+    forEachNode((key, node) -> action.accept(key, node.getValue()));
+  }
+}
@@ -0,0 +1,173 @@
+package com.rodina.trie.core.impl;
+
+import com.rodina.trie.core.node.PrimitiveNode;
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+public abstract class PrimitiveTrie<N extends PrimitiveNode<N>> {
+  private final N root;
+  private final LongAdder size;
+
+  protected PrimitiveTrie(N root) {
+    this.root = root;
+    this.size = new LongAdder();
+  }
+
+  public boolean containsKey(String key) {
+    return findNode(key) != null;
+  }
+
+  public boolean remove(String key) {
+    validateKey(key);
+    List<N> path = new ArrayList<>(key.length() + 1);
+    N node = root;
+    path.add(node);
+    for (int i = 0; i < key.length(); i++) {
+      node = node.getChild(key.charAt(i));
+      if (node == null) {
+        return false;
+      }
+      path.add(node);
+    }
+    node.lock();
+    try {
+      if (node.isRemoved() || !node.isEndOfWord()) {
+        return false;
+      }
+      node.setEndOfWord(false);
+      size.decrement();
+      if (node.hasChildren()) {
+        return true;
+      }
+      node.markRemoved();
+    } finally {
+      node.unlock();
+    }
+    prune(path, key);
+    return true;
+  }
+
+  private void prune(List<N> path, String key) {
+    for (int depth = key.length(); depth > 0; depth--) {
+      N parent = path.get(depth - 1);
+      parent.lock();
+      try {
+        parent.removeChild(key.charAt(depth - 1), path.get(depth));
+        if (parent == root
+            || parent.isRemoved()
+            || parent.isEndOfWord()
+            || parent.hasChildren()) {
+          return;
+        }
+        parent.markRemoved();
+      } finally {
+        parent.unlock();
+      }
+    }
+  }
+
+  public int size() {
+    return size.intValue();
+  }
+
+  public boolean isEmpty() {
+    return size.sum() == 0;
+  }
+
+  public void clear() {
+    root.lock();
+    try {
+      root.clearChildren();
+      size.reset();
+    } finally {
+      root.unlock();
+    }
+  }
+
+  public List<String> getAllKeys() {
+    List<String> keys = new ArrayList<>();
+    forEachNode((key, node) -> keys.add(key));
+    return keys;
+  }
+
+  protected N findNode(String key) {
+    validateKey(key);
+    N node = root;
+    for (int i = 0; i < key.length() && node != null; i++) {
+      node = node.getChild(key.charAt(i));
+    }
+    return node != null && node.isEndOfWord() ? node : null;
+  }
+
+  protected N lockNode(String key) {
+    validateKey(key);
+    while (true) {
+      N node = tryLockNode(key);
+      if (node != null) {
+        return node;
+      }
+      Thread.onSpinWait();
+    }
+  }
+
+  private N tryLockNode(String key) {
+    N node = root;
+    for (int i = 0; i < key.length(); i++) {
+      char character = key.charAt(i);
+      N child = node.getChild(character);
+      if (child == null) {
+        node.lock();
+        try {
+          if (node.isRemoved()) {
+            return null;
+          }
+          child = node.addChild(character);
+        } finally {
+          node.unlock();
+        }
+      }
+      node = child;
+    }
+    node.lock();
+    if (node.isRemoved()) {
+      node.unlock();
+      return null;
+    }
+    return node;
+  }
+
+  protected void markPresent(N node) {
+    if (!node.isEndOfWord()) {
+      node.setEndOfWord(true);
+      size.increment();
+    }
+  }
+
+  protected void forEachNode(BiConsumer<String, N> action) {
+    visit(root, new StringBuilder(), action);
+  }
+
+  private void visit(N node, StringBuilder prefix, BiConsumer<String, N> action) {
+    if (node.isEndOfWord()) {
+      action.accept(prefix.toString(), node);
+    }
+    node.forEachChild(
+        (character, child) -> {
+          prefix.append(character);
+          visit(child, prefix, action);
+          prefix.setLength(prefix.length() - 1);
+        });
+  }
+
+  private void validateKey(String key) {
+    if (key == null) {
+      throw new InvalidKeyException("Key cannot be null");
+    }
+    if (key.isEmpty()) {
+      throw new InvalidKeyException("Key cannot be empty");
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package com.rodina.trie.core.impl;
+
+public enum ReadMode {
+  LOCKED,
+  OPTIMISTIC,
+  LOCK_FREE
+}
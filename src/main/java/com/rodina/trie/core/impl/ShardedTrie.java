@@ -0,0 +1,701 @@
+package com.rodina.trie.core.impl;
+
+import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.snapshot.TrieSnapshot;
+import com.rodina.trie.core.util.GlobPattern;
+import com.rodina.trie.core.util.MergingIterator;
+import com.rodina.trie.core.util.RandomIndices;
+import com.rodina.trie.core.util.ScoredCompletion;
+import com.rodina.trie.core.util.TopCompletions;
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class ShardedTrie<V> implements Trie<V> {
+  private final List<Trie<V>> shards;
+  private final int prefixLength;
+  private final int maxSnapshots;
+  private final Map<Long, long[]> shardSnapshotIds;
+  private final Map<Long, TrieSnapshot<V>> snapshots;
+  private final AtomicLong snapshotIdGenerator;
+  private final boolean rankedAutocomplete;
+
+  public ShardedTrie(int shardCount, int prefixLength) {
+    this(shardCount, prefixLength, 10, ConcurrentTrie::new);
+  }
+
+  public ShardedTrie(
+      int shardCount,
+      int prefixLength,
+      int maxSnapshots,
+      Supplier<? extends Trie<V>> shardFactory) {
+    this(shardCount, prefixLength, maxSnapshots, shardFactory, false);
+  }
+
+  public ShardedTrie(
+      int shardCount,
+      int prefixLength,
+      int maxSnapshots,
+      Supplier<? extends Trie<V>> shardFactory,
+      boolean rankedAutocomplete) {
+    if (shardCount <= 0) {
+      throw new IllegalArgumentException("Shard count must be greater than 0");
+    }
+    if (prefixLength <= 0) {
+      throw new IllegalArgumentException("Shard prefix length must be greater than 0");
+    }
+    if (maxSnapshots <= 0) {
+      throw new IllegalArgumentException("Max snapshots must be greater than 0");
+    }
+    List<Trie<V>> created = new ArrayList<>(shardCount);
+    for (int i = 0; i < shardCount; i++) {
+      created.add(shardFactory.get());
+    }
+    this.shards = Collections.unmodifiableList(created);
+    this.prefixLength = prefixLength;
+    this.maxSnapshots = maxSnapshots;
+    this.shardSnapshotIds = new LinkedHashMap<>();
+    this.snapshots = new LinkedHashMap<>();
+    this.snapshotIdGenerator = new AtomicLong(0);
+    this.rankedAutocomplete = rankedAutocomplete;
+  }
+
+  public int getShardCount() {
+    return shards.size();
+  }
+
+  public int getPrefixLength() {
+    return prefixLength;
+  }
+
+  public boolean isRankedAutocomplete() {
+    return rankedAutocomplete;
+  }
+
+  List<Trie<V>> getShards() {
+    return shards;
+  }
+
+  Trie<V> shardFor(String key) {
+    int hash = 0;
+    int end = Math.min(prefixLength, key.length());
+    for (int i = 0; i < end; i++) {
+      hash = 31 * hash + key.charAt(i);
+    }
+    return shards.get(Math.floorMod(hash, shards.size()));
+  }
+
+  private boolean routesToSingleShard(String prefix) {
+    return shards.size() == 1 || prefix.length() >= prefixLength;
+  }
+
+  @Override
+  public void insert(String key, V value) {
+    validateKey(key);
+    shardFor(key).insert(key, value);
+  }
+
+  @Override
+  public Optional<V> search(String key) {
+    validateKey(key);
+    return shardFor(key).search(key);
+  }
+
+  @Override
+  public Map<String, V> searchAll(Collection<String> keys) {
+    if (keys == null) {
+      throw new InvalidKeyException("Keys cannot be null");
+    }
+    keys.forEach(this::validateKey);
+    Map<Trie<V>, List<String>> keysByShard = new LinkedHashMap<>();
+    for (String key : keys) {
+      keysByShard.computeIfAbsent(shardFor(key), shard -> new ArrayList<>()).add(key);
+    }
+    Map<String, V> results = new TreeMap<>();
+    keysByShard.forEach((shard, shardKeys) -> results.putAll(shard.searchAll(shardKeys)));
+    return results;
+  }
+
+  @Override
+  public boolean delete(String key) {
+    validateKey(key);
+    return shardFor(key).delete(key);
+  }
+
+  @Override
+  public boolean has(String key) {
+    validateKey(key);
+    return shardFor(key).has(key);
+  }
+
+  @Override
+  public boolean startsWith(String prefix) {
+    validatePrefix(prefix);
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).startsWith(prefix);
+    }
+    for (Trie<V> shard : shards) {
+      if (shard.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int countByPrefix(String prefix) {
+    validatePrefix(prefix);
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).countByPrefix(prefix);
+    }
+    int count = 0;
+    for (Trie<V> shard : shards) {
+      count += shard.countByPrefix(prefix);
+    }
+    return count;
+  }
+
+  @Override
+  public int rank(String key) {
+    validateKey(key);
+    int rank = 0;
+    for (Trie<V> shard : shards) {
+      rank += shard.rank(key);
+    }
+    return rank;
+  }
+
+  @Override
+  public Optional<String> select(String prefix, int index) {
+    validatePrefix(prefix);
+    if (index < 0) {
+      throw new IllegalArgumentException("Index cannot be negative");
+    }
+    String path = prefix;
+    int remaining = index;
+    while (!routesToSingleShard(path)) {
+      if (!path.isEmpty() && has(path)) {
+        if (remaining == 0) {
+          return Optional.of(path);
+        }
+        remaining--;
+      }
+      String child = childAtOrAfter(path, Character.MIN_VALUE);
+      while (child != null) {
+        int count = countByPrefix(child);
+        if (remaining < count) {
+          break;
+        }
+        remaining -= count;
+        char last = child.charAt(path.length());
+        child = last == Character.MAX_VALUE ? null : childAtOrAfter(path, (char) (last + 1));
+      }
+      if (child == null) {
+        return Optional.empty();
+      }
+      path = child;
+    }
+    return shardFor(path).select(path, remaining);
+  }
+
+  private String childAtOrAfter(String path, char from) {
+    return ceilingKey(path + from)
+        .filter(key -> key.startsWith(path))
+        .map(key -> key.substring(0, path.length() + 1))
+        .orElse(null);
+  }
+
+  @Override
+  public List<String> sample(String prefix, int size) {
+    validatePrefix(prefix);
+    if (size <= 0) {
+      throw new IllegalArgumentException("Sample size must be greater than 0");
+    }
+    List<String> keys = new ArrayList<>();
+    for (int index : RandomIndices.distinct(countByPrefix(prefix), size)) {
+      select(prefix, index).ifPresent(keys::add);
+    }
+    return keys;
+  }
+
+  @Override
+  public Optional<Map.Entry<String, V>> longestPrefixOf(String input) {
+    validateInput(input);
+    if (shards.size() == 1) {
+      return shardFor(input).longestPrefixOf(input);
+    }
+    Optional<Map.Entry<String, V>> longest = shardFor(input).longestPrefixOf(input);
+    if (longest.isPresent() && longest.get().getKey().length() >= prefixLength) {
+      return longest;
+    }
+    for (int length = Math.min(input.length(), prefixLength - 1); length > 0; length--) {
+      Optional<Map.Entry<String, V>> exact = exactPrefix(input, length);
+      if (exact.isPresent()) {
+        return exact;
+      }
+    }
+    return Optional.empty();
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> allPrefixesOf(String input) {
+    validateInput(input);
+    if (shards.size() == 1) {
+      return shardFor(input).allPrefixesOf(input);
+    }
+    List<Map.Entry<String, V>> prefixes = new ArrayList<>();
+    for (int length = 1; length < Math.min(input.length() + 1, prefixLength); length++) {
+      exactPrefix(input, length).ifPresent(prefixes::add);
+    }
+    for (Map.Entry<String, V> prefix : shardFor(input).allPrefixesOf(input)) {
+      if (prefix.getKey().length() >= prefixLength) {
+        prefixes.add(prefix);
+      }
+    }
+    return prefixes;
+  }
+
+  private Optional<Map.Entry<String, V>> exactPrefix(String input, int length) {
+    String prefix = input.substring(0, length);
+    return shardFor(prefix)
+        .longestPrefixOf(prefix)
+        .filter(entry -> entry.getKey().length() == length);
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix) {
+    validatePrefix(prefix);
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).searchByPrefix(prefix);
+    }
+    List<Iterator<Map.Entry<String, V>>> sources = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      sources.add(shard.searchByPrefix(prefix).iterator());
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    new MergingIterator<>(sources).forEachRemaining(results::add);
+    return results;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> searchByPrefix(String prefix, String after, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).searchByPrefix(prefix, after, limit);
+    }
+    List<Iterator<Map.Entry<String, V>>> sources = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      sources.add(shard.searchByPrefix(prefix, after, limit).iterator());
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>(limit);
+    Iterator<Map.Entry<String, V>> merged = new MergingIterator<>(sources);
+    while (merged.hasNext() && results.size() < limit) {
+      results.add(merged.next());
+    }
+    return results;
+  }
+
+  @Override
+  public List<String> autocomplete(String prefix, int limit) {
+    validatePrefix(prefix);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).autocomplete(prefix, limit);
+    }
+    if (rankedAutocomplete) {
+      List<String> ranked = new ArrayList<>(limit);
+      for (ScoredCompletion completion : popularCompletions(prefix, limit)) {
+        ranked.add(completion.getKey());
+      }
+      return ranked;
+    }
+    List<String> merged = new ArrayList<>();
+    for (Trie<V> shard : shards) {
+      merged.addAll(shard.autocomplete(prefix, limit));
+    }
+    Collections.sort(merged);
+    return merged.size() > limit ? new ArrayList<>(merged.subList(0, limit)) : merged;
+  }
+
+  @Override
+  public List<ScoredCompletion> popularCompletions(String prefix, int limit) {
+    validatePrefix(prefix);
+    TopCompletions top = new TopCompletions(limit);
+    if (routesToSingleShard(prefix)) {
+      return shardFor(prefix).popularCompletions(prefix, limit);
+    }
+    for (Trie<V> shard : shards) {
+      for (ScoredCompletion completion : shard.popularCompletions(prefix, limit)) {
+        top.offer(completion.getKey(), completion.getScore());
+      }
+    }
+    return top.toList();
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> fuzzySearch(String term, int maxEdits, int limit) {
+    if (term == null) {
+      throw new InvalidKeyException("Term cannot be null");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    List<List<Map.Entry<String, V>>> shardResults = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      shardResults.add(shard.fuzzySearch(term, maxEdits, limit));
+    }
+    return mergeLimited(shardResults, limit);
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> match(String pattern, int limit) {
+    String literalPrefix = new GlobPattern(pattern).getLiteralPrefix();
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (routesToSingleShard(literalPrefix)) {
+      return shardFor(literalPrefix).match(pattern, limit);
+    }
+    List<List<Map.Entry<String, V>>> shardResults = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      shardResults.add(shard.match(pattern, limit));
+    }
+    return mergeLimited(shardResults, limit);
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> range(
+      String fromKey, boolean fromInclusive, String toKey, boolean toInclusive, int limit) {
+    if (fromKey != null && toKey != null && fromKey.compareTo(toKey) > 0) {
+      throw new InvalidKeyException("Range start cannot be greater than range end");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    if (fromKey != null && toKey != null) {
+      String sharedPrefix = sharedPrefix(fromKey, toKey);
+      if (routesToSingleShard(sharedPrefix)) {
+        return shardFor(sharedPrefix).range(fromKey, fromInclusive, toKey, toInclusive, limit);
+      }
+    }
+    List<List<Map.Entry<String, V>>> shardResults = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      shardResults.add(shard.range(fromKey, fromInclusive, toKey, toInclusive, limit));
+    }
+    return mergeLimited(shardResults, limit);
+  }
+
+  private static String sharedPrefix(String first, String second) {
+    int length = Math.min(first.length(), second.length());
+    int i = 0;
+    while (i < length && first.charAt(i) == second.charAt(i)) {
+      i++;
+    }
+    return first.substring(0, i);
+  }
+
+  @Override
+  public Optional<String> floorKey(String key) {
+    validateKey(key);
+    return shards.stream()
+        .map(shard -> shard.floorKey(key))
+        .flatMap(Optional::stream)
+        .max(Comparator.naturalOrder());
+  }
+
+  @Override
+  public Optional<String> ceilingKey(String key) {
+    validateKey(key);
+    return shards.stream()
+        .map(shard -> shard.ceilingKey(key))
+        .flatMap(Optional::stream)
+        .min(Comparator.naturalOrder());
+  }
+
+  @Override
+  public Optional<String> higherKey(String key) {
+    validateKey(key);
+    return shards.stream()
+        .map(shard -> shard.higherKey(key))
+        .flatMap(Optional::stream)
+        .min(Comparator.naturalOrder());
+  }
+
+  @Override
+  public Optional<String> lowerKey(String key) {
+    validateKey(key);
+    return shards.stream()
+        .map(shard -> shard.lowerKey(key))
+        .flatMap(Optional::stream)
+        .max(Comparator.naturalOrder());
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> endsWith(String suffix, int limit) {
+    if (suffix == null) {
+      throw new InvalidKeyException("Suffix cannot be null");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    for (Trie<V> shard : shards) {
+      results.addAll(shard.endsWith(suffix, limit));
+    }
+    results.sort(Map.Entry.comparingByKey(SubstringIndex.BY_REVERSED_KEY));
+    return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+  }
+
+  @Override
+  public List<Map.Entry<String, V>> contains(String fragment, int limit) {
+    if (fragment == null) {
+      throw new InvalidKeyException("Fragment cannot be null");
+    }
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    List<List<Map.Entry<String, V>>> shardResults = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      shardResults.add(shard.contains(fragment, limit));
+    }
+    return mergeLimited(shardResults, limit);
+  }
+
+  private List<Map.Entry<String, V>> mergeLimited(
+      List<List<Map.Entry<String, V>>> shardResults, int limit) {
+    List<Iterator<Map.Entry<String, V>>> sources = new ArrayList<>(shardResults.size());
+    for (List<Map.Entry<String, V>> shardResult : shardResults) {
+      sources.add(shardResult.iterator());
+    }
+    List<Map.Entry<String, V>> results = new ArrayList<>();
+    Iterator<Map.Entry<String, V>> merged = new MergingIterator<>(sources);
+    while (merged.hasNext() && results.size() < limit) {
+      results.add(merged.next());
+    }
+    return results;
+  }
+
+  @Override
+  public Stream<Map.Entry<String, V>> stream(String prefix) {
+    return stream(prefix, false);
+  }
+
+  @Override
+  public Stream<Map.Entry<String, V>> parallelStream(String prefix) {
+    return stream(prefix, true);
+  }
+
+  private Stream<Map.Entry<String, V>> stream(String prefix, boolean parallel) {
+    validatePrefix(prefix);
+    if (routesToSingleShard(prefix)) {
+      Trie<V> shard = shardFor(prefix);
+      return parallel ? shard.parallelStream(prefix) : shard.stream(prefix);
+    }
+    List<Iterator<Map.Entry<String, V>>> sources = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      sources.add(shard.stream(prefix).iterator());
+    }
+    Spliterator<Map.Entry<String, V>> spliterator =
+        Spliterators.spliteratorUnknownSize(
+            new MergingIterator<>(sources),
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, parallel);
+  }
+
+  @Override
+  public int size() {
+    int total = 0;
+    for (Trie<V> shard : shards) {
+      total += shard.size();
+    }
+    return total;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (Trie<V> shard : shards) {
+      if (!shard.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void clear() {
+    shards.forEach(Trie::clear);
+  }
+
+  @Override
+  public List<String> getAllKeys() {
+    List<String> keys = new ArrayList<>();
+    iterator().forEachRemaining(entry -> keys.add(entry.getKey()));
+    return keys;
+  }
+
+  @Override
+  public String longestCommonPrefix() {
+    String common = null;
+    for (Trie<V> shard : shards) {
+      if (shard.isEmpty()) {
+        continue;
+      }
+      String shardPrefix = shard.longestCommonPrefix();
+      if (common == null) {
+        common = shardPrefix;
+        continue;
+      }
+      int length = 0;
+      int max = Math.min(common.length(), shardPrefix.length());
+      while (length < max && common.charAt(length) == shardPrefix.charAt(length)) {
+        length++;
+      }
+      common = common.substring(0, length);
+    }
+    return common == null ? "" : common;
+  }
+
+  @Override
+  public Iterator<Map.Entry<String, V>> iterator() {
+    List<Iterator<Map.Entry<String, V>>> sources = new ArrayList<>(shards.size());
+    for (Trie<V> shard : shards) {
+      sources.add(shard.iterator());
+    }
+    return new MergingIterator<>(sources);
+  }
+
+  @Override
+  public long getGlobalVersion() {
+    long version = 0;
+    for (Trie<V> shard : shards) {
+      version += shard.getGlobalVersion();
+    }
+    return version;
+  }
+
+  @Override
+  public synchronized long createSnapshot() {
+    long[] ids = new long[shards.size()];
+    int totalSize = 0;
+    for (int i = 0; i < ids.length; i++) {
+      Trie<V> shard = shards.get(i);
+      ids[i] = shard.createSnapshot();
+      totalSize += shard.size();
+    }
+    long snapshotId = snapshotIdGenerator.incrementAndGet();
+    shardSnapshotIds.put(snapshotId, ids);
+    snapshots.put(snapshotId, new TrieSnapshot<>(snapshotId, null, totalSize));
+    while (snapshots.size() > maxSnapshots) {
+      deleteSnapshot(snapshots.keySet().iterator().next());
+    }
+    return snapshotId;
+  }
+
+  @Override
+  public synchronized boolean rollbackToSnapshot(long snapshotId) {
+    long[] ids = shardSnapshotIds.get(snapshotId);
+    if (ids == null) {
+      return false;
+    }
+    for (int i = 0; i < ids.length; i++) {
+      if (!shards.get(i).getSnapshots().containsKey(ids[i])) {
+        return false;
+      }
+    }
+    for (int i = 0; i < ids.length; i++) {
+      shards.get(i).rollbackToSnapshot(ids[i]);
+    }
+    return true;
+  }
+
+  @Override
+  public boolean rollbackNode(String key) {
+    validateKey(key);
+    return shardFor(key).rollbackNode(key);
+  }
+
+  @Override
+  public boolean rollbackNodeToVersion(String key, long version) {
+    validateKey(key);
+    if (version < 0) {
+      throw new IllegalArgumentException("Version cannot be negative");
+    }
+    return shardFor(key).rollbackNodeToVersion(key, version);
+  }
+
+  @Override
+  public synchronized Map<Long, TrieSnapshot<V>> getSnapshots() {
+    return new LinkedHashMap<>(snapshots);
+  }
+
+  @Override
+  public synchronized boolean deleteSnapshot(long snapshotId) {
+    long[] ids = shardSnapshotIds.remove(snapshotId);
+    if (ids == null) {
+      return false;
+    }
+    snapshots.remove(snapshotId);
+    for (int i = 0; i < ids.length; i++) {
+      shards.get(i).deleteSnapshot(ids[i]);
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized int getSnapshotCount() {
+    return snapshots.size();
+  }
+
+  @Override
+  public synchronized void clearAllSnapshots() {
+    shardSnapshotIds.clear();
+    snapshots.clear();
+    shards.forEach(Trie::clearAllSnapshots);
+  }
+
+  @Override
+  public void clearNodeSnapshotHistory() {
+    shards.forEach(Trie::clearNodeSnapshotHistory);
+  }
+
+  private void validateKey(String key) {
+    if (key == null) {
+      throw new InvalidKeyException("Key cannot be null");
+    }
+    if (key.isEmpty()) {
+      throw new InvalidKeyException("Key cannot be empty");
+    }
+  }
+
+  private void validateInput(String input) {
+    if (input == null) {
+      throw new InvalidKeyException("Input cannot be null");
+    }
+  }
+
+  private void validatePrefix(String prefix) {
+    if (prefix == null) {
+      throw new InvalidKeyException("Prefix cannot be null");
+    }
+  }
+}
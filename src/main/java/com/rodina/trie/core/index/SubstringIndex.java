@@ -0,0 +1,132 @@
+package com.rodina.trie.core.index;
+
+import com.rodina.trie.core.impl.ConcurrentTrie;
+import com.rodina.trie.core.node.NodeMode;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public final class SubstringIndex {
+  public static final int GRAM_LENGTH = 3;
+  public static final Comparator<String> BY_REVERSED_KEY = SubstringIndex::compareReversed;
+  private static final int LOCK_STRIPES = 64;
+  private final ConcurrentTrie<Boolean> reversedKeys;
+  private final ConcurrentMap<String, Postings> postings;
+  private final Object[] locks;
+
+  public SubstringIndex() {
+    this.reversedKeys = new ConcurrentTrie<>(1, NodeMode.LEAN);
+    this.postings = new ConcurrentHashMap<>();
+    this.locks = new Object[LOCK_STRIPES];
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      this.locks[i] = new Object();
+    }
+  }
+
+  public void sync(String key, Predicate<String> contains) {
+    synchronized (locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)]) {
+      if (contains.test(key)) {
+        add(key);
+      } else {
+        remove(key);
+      }
+    }
+  }
+
+  public void clear() {
+    reversedKeys.clear();
+    postings.clear();
+  }
+
+  public boolean covers(String fragment) {
+    return fragment.length() >= GRAM_LENGTH;
+  }
+
+  public Iterator<String> keysEndingWith(String suffix) {
+    return reversedKeys.stream(reverse(suffix)).map(entry -> reverse(entry.getKey())).iterator();
+  }
+
+  public Iterator<String> keysContaining(String fragment) {
+    if (!covers(fragment)) {
+      throw new IllegalArgumentException("Fragment must be at least " + GRAM_LENGTH + " long");
+    }
+    Postings rarest = null;
+    for (int i = 0; i + GRAM_LENGTH <= fragment.length(); i++) {
+      Postings candidate = postings.get(fragment.substring(i, i + GRAM_LENGTH));
+      if (candidate == null) {
+        return Collections.emptyIterator();
+      }
+      if (rarest == null || candidate.size.get() < rarest.size.get()) {
+        rarest = candidate;
+      }
+    }
+    return rarest.keys.stream().filter(key -> key.contains(fragment)).iterator();
+  }
+
+  private void add(String key) {
+    reversedKeys.insert(reverse(key), Boolean.TRUE);
+    for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+      postings.compute(
+          key.substring(i, i + GRAM_LENGTH),
+          (gram, existing) -> {
+            Postings target = existing == null ? new Postings() : existing;
+            target.add(key);
+            return target;
+          });
+    }
+  }
+
+  private void remove(String key) {
+    reversedKeys.delete(reverse(key));
+    for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+      postings.computeIfPresent(
+          key.substring(i, i + GRAM_LENGTH),
+          (gram, existing) -> {
+            existing.remove(key);
+            return existing.size.get() == 0 ? null : existing;
+          });
+    }
+  }
+
+  private static String reverse(String value) {
+    char[] characters = new char[value.length()];
+    for (int i = 0; i < characters.length; i++) {
+      characters[i] = value.charAt(characters.length - 1 - i);
+    }
+    return new String(characters);
+  }
+
+  private static int compareReversed(String first, String second) {
+    int i = first.length() - 1;
+    int j = second.length() - 1;
+    while (i >= 0 && j >= 0) {
+      int difference = first.charAt(i--) - second.charAt(j--);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return Integer.compare(first.length(), second.length());
+  }
+
+  private static final class Postings {
+    private final ConcurrentSkipListSet<String> keys = new ConcurrentSkipListSet<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(String key) {
+      if (keys.add(key)) {
+        size.incrementAndGet();
+      }
+    }
+
+    void remove(String key) {
+      if (keys.remove(key)) {
+        size.decrementAndGet();
+      }
+    }
+  }
+}
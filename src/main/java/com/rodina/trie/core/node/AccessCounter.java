@@ -0,0 +1,39 @@
+package com.rodina.trie.core.node;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class AccessCounter {
+  private static final int EPOCH_SHIFT = 48;
+  private static final long COUNT_MASK = (1L << EPOCH_SHIFT) - 1;
+  private static final int EPOCH_MASK = 0xFFFF;
+  private final AtomicLong state = new AtomicLong();
+
+  void increment() {
+    state.updateAndGet(current -> (current & COUNT_MASK) == COUNT_MASK ? current : current + 1);
+  }
+
+  void increment(int epoch) {
+    state.updateAndGet(
+        current -> {
+          long count = Math.min(decayed(current, epoch) + 1, COUNT_MASK);
+          return ((long) (epoch & EPOCH_MASK) << EPOCH_SHIFT) | count;
+        });
+  }
+
+  long get() {
+    return state.get() & COUNT_MASK;
+  }
+
+  long get(int epoch) {
+    return decayed(state.get(), epoch);
+  }
+
+  void reset() {
+    state.set(0);
+  }
+
+  private static long decayed(long current, int epoch) {
+    int elapsed = (epoch - (int) (current >>> EPOCH_SHIFT)) & EPOCH_MASK;
+    return elapsed >= EPOCH_SHIFT ? 0 : (current & COUNT_MASK) >>> elapsed;
+  }
+}
@@ -0,0 +1,501 @@
+package com.rodina.trie.core.node;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class ChildTable<N> {
+  static final int NODE4_MAX = 4;
+  static final int NODE16_MAX = 16;
+  static final int NODE48_MAX = 48;
+  static final int WINDOW = 256;
+  private static final int NODE4_SHRINK = 3;
+  private static final int NODE16_SHRINK = 12;
+  private static final int NODE48_SHRINK = 40;
+  private static final char[] NO_KEYS = new char[0];
+  private static final Object[] NO_NODES = new Object[0];
+
+  enum Layout {
+    NODE4,
+    NODE16,
+    NODE48,
+    NODE256,
+    SPARSE
+  }
+
+  private Layout layout;
+  private char[] keys;
+  private byte[] index;
+  private Object[] nodes;
+  private char base;
+  private int size;
+
+  ChildTable() {
+    clear();
+  }
+
+  Layout layout() {
+    return layout;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  N get(char key) {
+    switch (layout) {
+      case NODE48:
+        {
+          int offset = key - base;
+          if (offset < 0 || offset >= WINDOW) {
+            return null;
+          }
+          int slot = index[offset];
+          return slot == 0 ? null : nodeAt(slot - 1);
+        }
+      case NODE256:
+        {
+          int offset = key - base;
+          return offset >= 0 && offset < WINDOW ? nodeAt(offset) : null;
+        }
+      default:
+        {
+          int position = indexOf(key);
+          return position >= 0 ? nodeAt(position) : null;
+        }
+    }
+  }
+
+  N put(char key, N child) {
+    switch (layout) {
+      case NODE48:
+        return putNode48(key, child);
+      case NODE256:
+        return putNode256(key, child);
+      default:
+        return putSorted(key, child);
+    }
+  }
+
+  N remove(char key) {
+    N removed;
+    switch (layout) {
+      case NODE48:
+        removed = removeNode48(key);
+        break;
+      case NODE256:
+        removed = removeNode256(key);
+        break;
+      default:
+        removed = removeSorted(key);
+        break;
+    }
+    if (removed != null) {
+      shrink();
+    }
+    return removed;
+  }
+
+  boolean reshapesOnPut(char key) {
+    switch (layout) {
+      case NODE48:
+        {
+          int offset = key - base;
+          return offset < 0 || offset >= WINDOW || (index[offset] == 0 && size == NODE48_MAX);
+        }
+      case NODE256:
+        {
+          int offset = key - base;
+          return offset < 0 || offset >= WINDOW;
+        }
+      default:
+        return indexOf(key) < 0
+            && (size == keys.length || (layout == Layout.NODE16 && size == NODE16_MAX));
+    }
+  }
+
+  boolean reshapesOnRemove(char key) {
+    if (get(key) == null) {
+      return false;
+    }
+    int remaining = size - 1;
+    switch (layout) {
+      case NODE256:
+        return remaining <= NODE48_SHRINK;
+      case NODE48:
+      case SPARSE:
+        return remaining <= NODE16_SHRINK;
+      case NODE16:
+        return remaining <= NODE4_SHRINK;
+      default:
+        return remaining == 0;
+    }
+  }
+
+  void clear() {
+    this.layout = Layout.NODE4;
+    this.keys = NO_KEYS;
+    this.index = null;
+    this.nodes = NO_NODES;
+    this.base = 0;
+    this.size = 0;
+  }
+
+  int ceilingKey(int from) {
+    if (size == 0 || from > Character.MAX_VALUE) {
+      return -1;
+    }
+    int start = Math.max(from, 0);
+    if (isIndexed()) {
+      for (int offset = Math.max(start - base, 0); offset < WINDOW; offset++) {
+        if (occupied(offset)) {
+          return base + offset;
+        }
+      }
+      return -1;
+    }
+    int position = indexOf((char) start);
+    position = position >= 0 ? position : -(position + 1);
+    return position < size ? keys[position] : -1;
+  }
+
+  int floorKey(int from) {
+    if (size == 0 || from < 0) {
+      return -1;
+    }
+    int start = Math.min(from, Character.MAX_VALUE);
+    if (isIndexed()) {
+      for (int offset = Math.min(start - base, WINDOW - 1); offset >= 0; offset--) {
+        if (occupied(offset)) {
+          return base + offset;
+        }
+      }
+      return -1;
+    }
+    int position = indexOf((char) start);
+    position = position >= 0 ? position : -(position + 1) - 1;
+    return position >= 0 ? keys[position] : -1;
+  }
+
+  void forEach(Visitor<N> visitor) {
+    switch (layout) {
+      case NODE48:
+        for (int offset = 0; offset < WINDOW; offset++) {
+          if (index[offset] != 0) {
+            visitor.visit((char) (base + offset), nodeAt(index[offset] - 1));
+          }
+        }
+        break;
+      case NODE256:
+        for (int offset = 0; offset < WINDOW; offset++) {
+          if (nodes[offset] != null) {
+            visitor.visit((char) (base + offset), nodeAt(offset));
+          }
+        }
+        break;
+      default:
+        for (int i = 0; i < size; i++) {
+          visitor.visit(keys[i], nodeAt(i));
+        }
+        break;
+    }
+  }
+
+  ChildTable<N> copy() {
+    ChildTable<N> copy = new ChildTable<>();
+    if (size > 0) {
+      copy.layout = layout;
+      copy.keys = isIndexed() ? NO_KEYS : Arrays.copyOf(keys, size);
+      copy.index = index == null ? null : index.clone();
+      copy.nodes = Arrays.copyOf(nodes, isIndexed() ? nodes.length : size);
+      copy.base = base;
+      copy.size = size;
+    }
+    return copy;
+  }
+
+  Map<Character, N> toMap() {
+    Map<Character, N> map = new LinkedHashMap<>();
+    forEach(map::put);
+    return map;
+  }
+
+  static <N> ChildTable<N> fromMap(Map<Character, N> children) {
+    ChildTable<N> table = new ChildTable<>();
+    if (children != null) {
+      for (Map.Entry<Character, N> entry : children.entrySet()) {
+        table.put(entry.getKey(), entry.getValue());
+      }
+    }
+    return table;
+  }
+
+  @SuppressWarnings("unchecked")
+  private N nodeAt(int position) {
+    return (N) nodes[position];
+  }
+
+  private boolean isIndexed() {
+    return layout == Layout.NODE48 || layout == Layout.NODE256;
+  }
+
+  private boolean occupied(int offset) {
+    return layout == Layout.NODE48 ? index[offset] != 0 : nodes[offset] != null;
+  }
+
+  private int indexOf(char key) {
+    if (layout == Layout.NODE4) {
+      for (int i = 0; i < size; i++) {
+        char current = keys[i];
+        if (current == key) {
+          return i;
+        }
+        if (current > key) {
+          return -(i + 1);
+        }
+      }
+      return -(size + 1);
+    }
+    return Arrays.binarySearch(keys, 0, size, key);
+  }
+
+  private N putSorted(char key, N child) {
+    int position = indexOf(key);
+    if (position >= 0) {
+      N previous = nodeAt(position);
+      nodes[position] = child;
+      return previous;
+    }
+    if (layout == Layout.NODE16 && size == NODE16_MAX) {
+      char low = (char) Math.min(key, keys[0]);
+      char high = (char) Math.max(key, keys[size - 1]);
+      if (high - low < WINDOW) {
+        toNode48(low);
+        return putNode48(key, child);
+      }
+      layout = Layout.SPARSE;
+    }
+    int insertAt = -(position + 1);
+    if (size == keys.length) {
+      int capacity = size == 0 ? 1 : size * 2;
+      keys = Arrays.copyOf(keys, capacity);
+      nodes = Arrays.copyOf(nodes, capacity);
+    }
+    System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+    System.arraycopy(nodes, insertAt, nodes, insertAt + 1, size - insertAt);
+    keys[insertAt] = key;
+    nodes[insertAt] = child;
+    size++;
+    if (layout == Layout.NODE4 && size > NODE4_MAX) {
+      layout = Layout.NODE16;
+    }
+    return null;
+  }
+
+  private N removeSorted(char key) {
+    int position = indexOf(key);
+    if (position < 0) {
+      return null;
+    }
+    N removed = nodeAt(position);
+    System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+    System.arraycopy(nodes, position + 1, nodes, position, size - position - 1);
+    size--;
+    nodes[size] = null;
+    return removed;
+  }
+
+  private N putNode48(char key, N child) {
+    int offset = key - base;
+    if (offset < 0 || offset >= WINDOW) {
+      return putOutsideWindow(key, child);
+    }
+    int slot = index[offset];
+    if (slot != 0) {
+      N previous = nodeAt(slot - 1);
+      nodes[slot - 1] = child;
+      return previous;
+    }
+    if (size == NODE48_MAX) {
+      toNode256();
+      return putNode256(key, child);
+    }
+    int free = 0;
+    while (nodes[free] != null) {
+      free++;
+    }
+    nodes[free] = child;
+    index[offset] = (byte) (free + 1);
+    size++;
+    return null;
+  }
+
+  private N removeNode48(char key) {
+    int offset = key - base;
+    if (offset < 0 || offset >= WINDOW || index[offset] == 0) {
+      return null;
+    }
+    int slot = index[offset] - 1;
+    N removed = nodeAt(slot);
+    nodes[slot] = null;
+    index[offset] = 0;
+    size--;
+    return removed;
+  }
+
+  private N putNode256(char key, N child) {
+    int offset = key - base;
+    if (offset < 0 || offset >= WINDOW) {
+      return putOutsideWindow(key, child);
+    }
+    N previous = nodeAt(offset);
+    nodes[offset] = child;
+    if (previous == null) {
+      size++;
+    }
+    return previous;
+  }
+
+  private N removeNode256(char key) {
+    int offset = key - base;
+    if (offset < 0 || offset >= WINDOW || nodes[offset] == null) {
+      return null;
+    }
+    N removed = nodeAt(offset);
+    nodes[offset] = null;
+    size--;
+    return removed;
+  }
+
+  private N putOutsideWindow(char key, N child) {
+    int low = Math.min(key, ceilingKey(0));
+    int high = Math.max(key, floorKey(Character.MAX_VALUE));
+    if (high - low < WINDOW) {
+      rebase((char) low);
+      return put(key, child);
+    }
+    toSorted(Layout.SPARSE);
+    return putSorted(key, child);
+  }
+
+  private void shrink() {
+    switch (layout) {
+      case NODE256:
+        if (size <= NODE48_SHRINK) {
+          toNode48((char) ceilingKey(0));
+        }
+        break;
+      case NODE48:
+      case SPARSE:
+        if (size <= NODE16_SHRINK) {
+          toSorted(Layout.NODE16);
+        }
+        break;
+      case NODE16:
+        if (size <= NODE4_SHRINK) {
+          toSorted(Layout.NODE4);
+        }
+        break;
+      default:
+        if (size == 0) {
+          clear();
+        }
+        break;
+    }
+  }
+
+  private void toNode48(char low) {
+    byte[] newIndex = new byte[WINDOW];
+    Object[] slots = new Object[NODE48_MAX];
+    int[] used = {0};
+    forEach(
+        (key, child) -> {
+          slots[used[0]] = child;
+          newIndex[key - low] = (byte) (used[0] + 1);
+          used[0]++;
+        });
+    this.layout = Layout.NODE48;
+    this.keys = NO_KEYS;
+    this.index = newIndex;
+    this.nodes = slots;
+    this.base = low;
+  }
+
+  private void toNode256() {
+    Object[] slots = new Object[WINDOW];
+    forEach((key, child) -> slots[key - base] = child);
+    this.layout = Layout.NODE256;
+    this.index = null;
+    this.nodes = slots;
+  }
+
+  private void rebase(char low) {
+    int shift = base - low;
+    if (layout == Layout.NODE48) {
+      byte[] newIndex = new byte[WINDOW];
+      for (int offset = 0; offset < WINDOW; offset++) {
+        if (index[offset] != 0) {
+          newIndex[offset + shift] = index[offset];
+        }
+      }
+      this.index = newIndex;
+    } else {
+      Object[] slots = new Object[WINDOW];
+      for (int offset = 0; offset < WINDOW; offset++) {
+        if (nodes[offset] != null) {
+          slots[offset + shift] = nodes[offset];
+        }
+      }
+      this.nodes = slots;
+    }
+    this.base = low;
+  }
+
+  private void toSorted(Layout target) {
+    int capacity = target == Layout.NODE4 ? NODE4_MAX : Math.max(size, NODE16_MAX);
+    char[] sortedKeys = new char[capacity];
+    Object[] sortedNodes = new Object[capacity];
+    int[] used = {0};
+    forEach(
+        (key, child) -> {
+          sortedKeys[used[0]] = key;
+          sortedNodes[used[0]] = child;
+          used[0]++;
+        });
+    this.layout = target;
+    this.keys = sortedKeys;
+    this.index = null;
+    this.nodes = sortedNodes;
+    this.base = 0;
+  }
+
+  interface Visitor<N> {
+    void visit(char key, N child);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ChildTable<?> that = (ChildTable<?>) o;
+    if (size != that.size) return false;
+    int key = ceilingKey(0);
+    while (key >= 0) {
+      Object other = that.get((char) key);
+      if (other == null || !other.equals(get((char) key))) return false;
+      key = ceilingKey(key + 1);
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int[] result = {0};
+    forEach((key, child) -> result[0] += key ^ child.hashCode());
+    return result[0];
+  }
+}
@@ -0,0 +1,6 @@
+package com.rodina.trie.core.node;
+
+@FunctionalInterface
+public interface ChildVisitor<V> {
+  void visit(char key, TrieNode<V> child);
+}
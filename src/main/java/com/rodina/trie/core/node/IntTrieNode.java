@@ -0,0 +1,18 @@
+package com.rodina.trie.core.node;
+
+public final class IntTrieNode extends PrimitiveNode<IntTrieNode> {
+  private volatile int value;
+
+  @Override
+  protected IntTrieNode newChild() {
+    return new IntTrieNode();
+  }
+
+  public int getValue() {
+    return value;
+  }
+
+  public void setValue(int value) {
+    this.value = value;
+  }
+}
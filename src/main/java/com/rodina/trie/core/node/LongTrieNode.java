@@ -0,0 +1,18 @@
+package com.rodina.trie.core.node;
+
+public final class LongTrieNode extends PrimitiveNode<LongTrieNode> {
+  private volatile long value;
+
+  @Override
+  protected LongTrieNode newChild() {
+    return new LongTrieNode();
+  }
+
+  public long getValue() {
+    return value;
+  }
+
+  public void setValue(long value) {
+    this.value = value;
+  }
+}
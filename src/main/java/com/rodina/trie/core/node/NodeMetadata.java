@@ -0,0 +1,75 @@
+package com.rodina.trie.core.node;
+
+import com.rodina.trie.core.util.ClockSource;
+import com.rodina.trie.core.util.RankedCompletions;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+final class NodeMetadata<V> {
+  private static final VarHandle TOP_COMPLETIONS;
+
+  static {
+    try {
+      TOP_COMPLETIONS =
+          MethodHandles.lookup()
+              .findVarHandle(NodeMetadata.class, "topCompletions", RankedCompletions.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final long createdAt;
+  private final AccessCounter accessCount;
+  private long version;
+  private long modifiedAt;
+  private NodeSnapshot<V> previousSnapshot;
+  private volatile RankedCompletions topCompletions = RankedCompletions.EMPTY;
+
+  NodeMetadata() {
+    this.version = VersionClock.next(0);
+    this.createdAt = ClockSource.now();
+    this.modifiedAt = this.createdAt;
+    this.accessCount = new AccessCounter();
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  long getCreatedAt() {
+    return createdAt;
+  }
+
+  long getModifiedAt() {
+    return modifiedAt;
+  }
+
+  void touch() {
+    this.modifiedAt = ClockSource.now();
+    this.version = VersionClock.next(version);
+  }
+
+  AccessCounter getAccessCount() {
+    return accessCount;
+  }
+
+  NodeSnapshot<V> getPreviousSnapshot() {
+    return previousSnapshot;
+  }
+
+  void setPreviousSnapshot(NodeSnapshot<V> previousSnapshot) {
+    this.previousSnapshot = previousSnapshot;
+  }
+
+  RankedCompletions getTopCompletions() {
+    return topCompletions;
+  }
+
+  void setTopCompletions(RankedCompletions topCompletions) {
+    this.topCompletions = topCompletions;
+  }
+
+  boolean compareAndSetTopCompletions(RankedCompletions expected, RankedCompletions updated) {
+    return TOP_COMPLETIONS.compareAndSet(this, expected, updated);
+  }
+}
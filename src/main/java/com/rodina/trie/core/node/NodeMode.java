@@ -0,0 +1,6 @@
+package com.rodina.trie.core.node;
+
+public enum NodeMode {
+  FULL,
+  LEAN
+}
@@ -1,5 +1,6 @@
 package com.rodina.trie.core.node;
 
+import com.rodina.trie.core.util.ClockSource;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -8,15 +9,15 @@ public class NodeSnapshot<V> {
   private final long timestamp;
   private final V value;
   private final boolean isEndOfWord;
-  private final Map<Character, TrieNode<V>> childrenSnapshot;
+  private final ChildTable<TrieNode<V>> childrenSnapshot;
   private final NodeSnapshot<V> previousSnapshot;
 
   public NodeSnapshot(TrieNode<V> node, NodeSnapshot<V> previousSnapshot) {
     this.version = node.getVersion();
-    this.timestamp = System.currentTimeMillis();
+    this.timestamp = ClockSource.now();
     this.value = node.getValue();
     this.isEndOfWord = node.isEndOfWord();
-    this.childrenSnapshot = new HashMap<>(node.getChildrenMapDirect());
+    this.childrenSnapshot = node.getChildTable().copy();
     this.previousSnapshot = previousSnapshot;
   }
 
@@ -27,10 +28,24 @@ public class NodeSnapshot<V> {
       Map<Character, TrieNode<V>> children,
       NodeSnapshot<V> previousSnapshot) {
     this.version = version;
-    this.timestamp = System.currentTimeMillis();
+    this.timestamp = ClockSource.now();
     this.value = value;
     this.isEndOfWord = isEndOfWord;
-    this.childrenSnapshot = new HashMap<>(children);
+    this.childrenSnapshot = ChildTable.fromMap(children);
+    this.previousSnapshot = previousSnapshot;
+  }
+
+  NodeSnapshot(
+      long version,
+      V value,
+      boolean isEndOfWord,
+      ChildTable<TrieNode<V>> children,
+      NodeSnapshot<V> previousSnapshot) {
+    this.version = version;
+    this.timestamp = ClockSource.now();
+    this.value = value;
+    this.isEndOfWord = isEndOfWord;
+    this.childrenSnapshot = children.copy();
     this.previousSnapshot = previousSnapshot;
   }
 
@@ -51,7 +66,11 @@ public class NodeSnapshot<V> {
   }
 
   public Map<Character, TrieNode<V>> getChildrenSnapshot() {
-    return new HashMap<>(childrenSnapshot);
+    return new HashMap<>(childrenSnapshot.toMap());
+  }
+
+  ChildTable<TrieNode<V>> copyChildTable() {
+    return childrenSnapshot.copy();
   }
 
   public NodeSnapshot<V> getPreviousSnapshot() {
@@ -0,0 +1,79 @@
+package com.rodina.trie.core.node;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+public abstract class PrimitiveNode<N extends PrimitiveNode<N>> {
+  private final ReentrantLock lock;
+  private volatile ChildTable<N> children;
+  private volatile boolean endOfWord;
+  private boolean removed;
+
+  protected PrimitiveNode() {
+    this.lock = new ReentrantLock();
+    this.children = new ChildTable<>();
+  }
+
+  protected abstract N newChild();
+
+  public void lock() {
+    lock.lock();
+  }
+
+  public void unlock() {
+    lock.unlock();
+  }
+
+  public boolean isEndOfWord() {
+    return endOfWord;
+  }
+
+  public void setEndOfWord(boolean endOfWord) {
+    this.endOfWord = endOfWord;
+  }
+
+  public boolean isRemoved() {
+    return removed;
+  }
+
+  public void markRemoved() {
+    this.removed = true;
+  }
+
+  public N getChild(char character) {
+    return children.get(character);
+  }
+
+  public N addChild(char character) {
+    N child = children.get(character);
+    if (child == null) {
+      child = newChild();
+      ChildTable<N> updated = children.copy();
+      updated.put(character, child);
+      this.children = updated;
+    }
+    return child;
+  }
+
+  public boolean removeChild(char character, N child) {
+    if (children.get(character) != child) {
+      return false;
+    }
+    ChildTable<N> updated = children.copy();
+    updated.remove(character);
+    this.children = updated;
+    return true;
+  }
+
+  public boolean hasChildren() {
+    return !children.isEmpty();
+  }
+
+  public void clearChildren() {
+    this.children = new ChildTable<>();
+  }
+
+  public void forEachChild(BiConsumer<Character, N> visitor) {
+    children.forEach(visitor::accept);
+  }
+}
@@ -0,0 +1,270 @@
+package com.rodina.trie.core.node;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class RadixNode<V> {
+  private static final VarHandle SUBTREE_COUNT;
+
+  static {
+    try {
+      SUBTREE_COUNT =
+          MethodHandles.lookup().findVarHandle(RadixNode.class, "subtreeCount", int.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final ReadWriteLock lock;
+  private final Lock readLock;
+  private final Lock writeLock;
+  private final ChildTable<RadixNode<V>> children;
+  private String label;
+  private V value;
+  private boolean isEndOfWord;
+  private boolean removed;
+  private volatile int subtreeCount;
+  private final boolean tracksHistory;
+  private long version;
+  private ValueSnapshot<V> previousSnapshot;
+  private final AccessCounter accessCounter;
+
+  public RadixNode(String label) {
+    this(label, NodeMode.FULL);
+  }
+
+  public RadixNode(String label, NodeMode mode) {
+    this.lock = new ReentrantReadWriteLock();
+    this.readLock = this.lock.readLock();
+    this.writeLock = this.lock.writeLock();
+    this.children = new ChildTable<>();
+    this.label = label;
+    this.tracksHistory = mode != NodeMode.LEAN;
+    this.accessCounter = tracksHistory ? new AccessCounter() : null;
+    bumpVersion();
+  }
+
+  public NodeMode getMode() {
+    return tracksHistory ? NodeMode.FULL : NodeMode.LEAN;
+  }
+
+  public void lockRead() {
+    this.readLock.lock();
+  }
+
+  public void unlockRead() {
+    this.readLock.unlock();
+  }
+
+  public void lockWrite() {
+    this.writeLock.lock();
+  }
+
+  public void unlockWrite() {
+    this.writeLock.unlock();
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public void setLabel(String label) {
+    this.label = label;
+  }
+
+  public char firstChar() {
+    return label.charAt(0);
+  }
+
+  public V getValue() {
+    return value;
+  }
+
+  public boolean isEndOfWord() {
+    return isEndOfWord;
+  }
+
+  public void setTerminal(V value) {
+    saveSnapshot();
+    this.value = value;
+    this.isEndOfWord = true;
+    bumpVersion();
+  }
+
+  public void clearTerminal() {
+    saveSnapshot();
+    this.value = null;
+    this.isEndOfWord = false;
+    bumpVersion();
+  }
+
+  public boolean isRemoved() {
+    return removed;
+  }
+
+  public void markRemoved() {
+    this.removed = true;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public int getSubtreeCount() {
+    return subtreeCount;
+  }
+
+  public void addSubtreeCount(int delta) {
+    SUBTREE_COUNT.getAndAdd(this, delta);
+  }
+
+  public void setSubtreeCount(int subtreeCount) {
+    this.subtreeCount = subtreeCount;
+  }
+
+  public void incrementAccessCount(int epoch) {
+    if (accessCounter != null) {
+      accessCounter.increment(epoch);
+    }
+  }
+
+  public long getAccessCount(int epoch) {
+    return accessCounter == null ? 0 : accessCounter.get(epoch);
+  }
+
+  public RadixNode<V> getChild(char character) {
+    return children.get(character);
+  }
+
+  public void putChild(RadixNode<V> child) {
+    children.put(child.firstChar(), child);
+  }
+
+  public void removeChild(char character) {
+    children.remove(character);
+  }
+
+  public boolean hasChildren() {
+    return !children.isEmpty();
+  }
+
+  public int getChildrenCount() {
+    return children.size();
+  }
+
+  public RadixNode<V> getOnlyChild() {
+    int key = children.ceilingKey(0);
+    return children.size() == 1 && key >= 0 ? children.get((char) key) : null;
+  }
+
+  public int ceilingChildKey(int from) {
+    return children.ceilingKey(from);
+  }
+
+  public void forEachChild(Visitor<V> visitor) {
+    children.forEach(visitor::visit);
+  }
+
+  public void clear() {
+    saveSnapshot();
+    this.children.clear();
+    this.value = null;
+    this.isEndOfWord = false;
+    this.subtreeCount = 0;
+    bumpVersion();
+  }
+
+  private void bumpVersion() {
+    if (tracksHistory) {
+      this.version = VersionClock.next(version);
+    }
+  }
+
+  private void saveSnapshot() {
+    if (!tracksHistory) {
+      return;
+    }
+    this.previousSnapshot =
+        new ValueSnapshot<>(version, value, isEndOfWord, this.previousSnapshot);
+  }
+
+  public boolean rollback() {
+    if (previousSnapshot == null) {
+      return false;
+    }
+    restore(previousSnapshot);
+    return true;
+  }
+
+  public boolean rollbackToVersion(long targetVersion) {
+    ValueSnapshot<V> snapshot = previousSnapshot;
+    while (snapshot != null && snapshot.version > targetVersion) {
+      snapshot = snapshot.previous;
+    }
+    if (snapshot == null || snapshot.version != targetVersion) {
+      return false;
+    }
+    restore(snapshot);
+    return true;
+  }
+
+  private void restore(ValueSnapshot<V> snapshot) {
+    this.value = snapshot.value;
+    this.isEndOfWord = snapshot.isEndOfWord;
+    this.previousSnapshot = snapshot.previous;
+    bumpVersion();
+  }
+
+  public int getSnapshotDepth() {
+    int depth = 0;
+    ValueSnapshot<V> snapshot = previousSnapshot;
+    while (snapshot != null) {
+      depth++;
+      snapshot = snapshot.previous;
+    }
+    return depth;
+  }
+
+  public void clearSnapshotHistory() {
+    this.previousSnapshot = null;
+  }
+
+  @Override
+  public String toString() {
+    return "RadixNode{"
+        + "label='"
+        + label
+        + '\''
+        + ", version="
+        + version
+        + ", isEndOfWord="
+        + isEndOfWord
+        + ", value="
+        + value
+        + ", childrenCount="
+        + children.size()
+        + '}';
+  }
+
+  @FunctionalInterface
+  public interface Visitor<V> {
+    void visit(char key, RadixNode<V> child);
+  }
+
+  private static final class ValueSnapshot<V> {
+    private final long version;
+    private final V value;
+    private final boolean isEndOfWord;
+    private final ValueSnapshot<V> previous;
+
+    ValueSnapshot(long version, V value, boolean isEndOfWord, ValueSnapshot<V> previous) {
+      this.version = version;
+      this.value = value;
+      this.isEndOfWord = isEndOfWord;
+      this.previous = previous;
+    }
+  }
+}
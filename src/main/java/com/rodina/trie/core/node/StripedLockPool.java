@@ -0,0 +1,28 @@
+package com.rodina.trie.core.node;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public final class StripedLockPool {
+  private final ReentrantReadWriteLock[] locks;
+  private final int mask;
+
+  public StripedLockPool(int stripes) {
+    if (stripes <= 0 || Integer.bitCount(stripes) != 1) {
+      throw new IllegalArgumentException("Stripe count must be a positive power of two");
+    }
+    this.locks = new ReentrantReadWriteLock[stripes];
+    for (int i = 0; i < stripes; i++) {
+      this.locks[i] = new ReentrantReadWriteLock();
+    }
+    this.mask = stripes - 1;
+  }
+
+  public int getStripeCount() {
+    return locks.length;
+  }
+
+  ReentrantReadWriteLock lockFor(Object node) {
+    int hash = System.identityHashCode(node);
+    return locks[(hash ^ (hash >>> 16)) & mask];
+  }
+}
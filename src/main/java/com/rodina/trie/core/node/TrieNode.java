@@ -1,59 +1,116 @@
 package com.rodina.trie.core.node;
 
-import java.util.HashMap;
+import com.rodina.trie.core.util.RankedCompletions;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class TrieNode<V> {
-  private static final AtomicLong VERSION_GENERATOR = new AtomicLong(0);
-  private final ReadWriteLock lock;
-  private final Lock readLock;
-  private final Lock writeLock;
-  private final Map<Character, TrieNode<V>> children;
-  private V value;
-  private boolean isEndOfWord;
-  private long version;
-  private long createdAt;
-  private long modifiedAt;
-  private final AtomicLong accessCount;
-  private NodeSnapshot<V> previousSnapshot;
+  public static final long INVALID_STAMP = -1L;
+  private static final VarHandle STAMP;
+  private static final VarHandle SUBTREE_COUNT;
+
+  static {
+    try {
+      STAMP = MethodHandles.lookup().findVarHandle(TrieNode.class, "stamp", int.class);
+      SUBTREE_COUNT =
+          MethodHandles.lookup().findVarHandle(TrieNode.class, "subtreeCount", int.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final ReentrantReadWriteLock lock;
+  private volatile int stamp;
+  private volatile int subtreeCount;
+  private volatile ChildTable<TrieNode<V>> children;
+  private volatile V value;
+  private volatile boolean isEndOfWord;
+  private final boolean copyOnWrite;
+  private boolean removed;
+  private final StripedLockPool lockPool;
+  private final NodeMetadata<V> metadata;
 
   public TrieNode() {
-    this.lock = new ReentrantReadWriteLock();
-    this.readLock = this.lock.readLock();
-    this.writeLock = this.lock.writeLock();
-    this.children = new HashMap<>();
+    this(NodeMode.FULL);
+  }
+
+  public TrieNode(NodeMode mode) {
+    this(mode, false);
+  }
+
+  public TrieNode(NodeMode mode, boolean copyOnWrite) {
+    this(mode, copyOnWrite, null);
+  }
+
+  public TrieNode(NodeMode mode, boolean copyOnWrite, StripedLockPool lockPool) {
+    this.lockPool = lockPool;
+    this.lock = lockPool == null ? new ReentrantReadWriteLock() : lockPool.lockFor(this);
+    this.children = new ChildTable<>();
     this.value = null;
     this.isEndOfWord = false;
-    this.version = VERSION_GENERATOR.incrementAndGet();
-    this.createdAt = System.currentTimeMillis();
-    this.modifiedAt = this.createdAt;
-    this.accessCount = new AtomicLong(0);
-    this.previousSnapshot = null;
+    this.copyOnWrite = copyOnWrite;
+    this.metadata = mode == NodeMode.LEAN ? null : new NodeMetadata<>();
+  }
+
+  public NodeMode getMode() {
+    return metadata == null ? NodeMode.LEAN : NodeMode.FULL;
+  }
+
+  public boolean isCopyOnWrite() {
+    return copyOnWrite;
+  }
+
+  public StripedLockPool getLockPool() {
+    return lockPool;
+  }
+
+  public boolean isRemoved() {
+    return removed;
+  }
+
+  public void markRemoved() {
+    this.removed = true;
   }
 
   public void lockRead() {
-    this.readLock.lock();
+    this.lock.readLock().lock();
   }
 
   public void unlockRead() {
-    this.readLock.unlock();
+    this.lock.readLock().unlock();
   }
 
   public void lockWrite() {
-    this.writeLock.lock();
+    this.lock.writeLock().lock();
+    if (this.lock.getWriteHoldCount() == 1) {
+      STAMP.getAndAdd(this, 1);
+    }
   }
 
   public void unlockWrite() {
-    this.writeLock.unlock();
+    if (this.lock.getWriteHoldCount() == 1) {
+      STAMP.getAndAdd(this, 1);
+    }
+    this.lock.writeLock().unlock();
+  }
+
+  public long tryOptimisticRead() {
+    int current = stamp;
+    return (current & 1) == 0 ? current : INVALID_STAMP;
+  }
+
+  public boolean validate(long readStamp) {
+    VarHandle.acquireFence();
+    return (readStamp & 1) == 0 && stamp == readStamp;
   }
 
   public void readLockFromWriteLock() {
-    this.readLock.lock();
+    this.lock.readLock().lock();
   }
 
   public V getValue() {
@@ -78,66 +135,85 @@ public class TrieNode<V> {
     }
   }
 
+  public int getSubtreeCount() {
+    return subtreeCount;
+  }
+
+  public void addSubtreeCount(int delta) {
+    SUBTREE_COUNT.getAndAdd(this, delta);
+  }
+
+  public void setSubtreeCount(int subtreeCount) {
+    this.subtreeCount = subtreeCount;
+  }
+
   public long getVersion() {
-    return version;
+    return metadata == null ? 0 : metadata.getVersion();
   }
 
   public long getCreatedAt() {
-    return createdAt;
+    return metadata == null ? 0 : metadata.getCreatedAt();
   }
 
   public long getModifiedAt() {
-    return modifiedAt;
+    return metadata == null ? 0 : metadata.getModifiedAt();
   }
 
   private void updateModified() {
-    this.modifiedAt = System.currentTimeMillis();
-    this.version = VERSION_GENERATOR.incrementAndGet();
+    if (metadata != null) {
+      metadata.touch();
+    }
   }
 
   public void saveSnapshot() {
-    this.previousSnapshot =
+    if (metadata == null) {
+      return;
+    }
+    metadata.setPreviousSnapshot(
         new NodeSnapshot<>(
-            this.version, this.value, this.isEndOfWord, this.children, this.previousSnapshot);
+            metadata.getVersion(),
+            this.value,
+            this.isEndOfWord,
+            this.children,
+            metadata.getPreviousSnapshot()));
   }
 
   public boolean rollback() {
+    NodeSnapshot<V> previousSnapshot = metadata == null ? null : metadata.getPreviousSnapshot();
     if (previousSnapshot == null) {
       return false;
     }
-    this.value = previousSnapshot.getValue();
-    this.isEndOfWord = previousSnapshot.isEndOfWord();
-    this.children.clear();
-    this.children.putAll(previousSnapshot.getChildrenSnapshot());
-    this.previousSnapshot = previousSnapshot.getPreviousSnapshot();
-    updateModified();
+    restore(previousSnapshot);
     return true;
   }
 
   public boolean rollbackToVersion(long targetVersion) {
-    NodeSnapshot<V> snapshot = previousSnapshot;
+    NodeSnapshot<V> snapshot = metadata == null ? null : metadata.getPreviousSnapshot();
     while (snapshot != null && snapshot.getVersion() > targetVersion) {
       snapshot = snapshot.getPreviousSnapshot();
     }
     if (snapshot == null || snapshot.getVersion() != targetVersion) {
       return false;
     }
+    restore(snapshot);
+    return true;
+  }
+
+  private void restore(NodeSnapshot<V> snapshot) {
     this.value = snapshot.getValue();
     this.isEndOfWord = snapshot.isEndOfWord();
-    this.children.clear();
-    this.children.putAll(snapshot.getChildrenSnapshot());
-    this.previousSnapshot = snapshot.getPreviousSnapshot();
+    this.children = snapshot.copyChildTable();
+    metadata.setPreviousSnapshot(snapshot.getPreviousSnapshot());
     updateModified();
-    return true;
   }
 
   public boolean hasPreviousSnapshot() {
-    return previousSnapshot != null;
+    return metadata != null && metadata.getPreviousSnapshot() != null;
   }
 
   public int getSnapshotDepth() {
     int depth = 0;
-    NodeSnapshot<V> snapshot = previousSnapshot;
+    NodeSnapshot<V> snapshot = metadata == null ? null : metadata.getPreviousSnapshot();
     while (snapshot != null) {
       depth++;
       snapshot = snapshot.getPreviousSnapshot();
@@ -146,22 +222,57 @@ public class TrieNode<V> {
   }
 
   public void clearSnapshotHistory() {
-    this.previousSnapshot = null;
+    if (metadata != null) {
+      metadata.setPreviousSnapshot(null);
+    }
   }
 
   public void incrementAccessCount() {
-    this.accessCount.incrementAndGet();
+    if (metadata != null) {
+      metadata.getAccessCount().increment();
+    }
+  }
+
+  public void incrementAccessCount(int epoch) {
+    if (metadata != null) {
+      metadata.getAccessCount().increment(epoch);
+    }
   }
 
   public long getAccessCount() {
-    return this.accessCount.get();
+    return metadata == null ? 0 : metadata.getAccessCount().get();
+  }
+
+  public long getAccessCount(int epoch) {
+    return metadata == null ? 0 : metadata.getAccessCount().get(epoch);
   }
 
   public void resetAccessCount() {
-    this.accessCount.set(0);
+    if (metadata != null) {
+      metadata.getAccessCount().reset();
+    }
+  }
+
+  public RankedCompletions getTopCompletions() {
+    return metadata == null ? null : metadata.getTopCompletions();
+  }
+
+  public void setTopCompletions(RankedCompletions topCompletions) {
+    if (metadata != null) {
+      metadata.setTopCompletions(topCompletions);
+    }
+  }
+
+  public boolean compareAndSetTopCompletions(
+      RankedCompletions expected, RankedCompletions updated) {
+    return metadata != null && metadata.compareAndSetTopCompletions(expected, updated);
   }
 
   public Map<Character, TrieNode<V>> getChildrenMapDirect() {
+    return this.children.toMap();
+  }
+
+  ChildTable<TrieNode<V>> getChildTable() {
     return this.children;
   }
 
@@ -170,22 +281,41 @@ public class TrieNode<V> {
   }
 
   public TrieNode<V> addChild(char character) {
-    if (!this.children.containsKey(character)) {
-      this.children.put(character, new TrieNode<>());
+    TrieNode<V> child = this.children.get(character);
+    if (child == null) {
+      child = new TrieNode<>(getMode(), copyOnWrite, lockPool);
+      putChild(character, child);
     }
-    return this.children.get(character);
+    return child;
   }
 
   public void setChild(char character, TrieNode<V> node) {
-    this.children.put(character, node);
+    putChild(character, node);
+  }
+
+  private void putChild(char character, TrieNode<V> node) {
+    if (copyOnWrite || this.children.reshapesOnPut(character)) {
+      ChildTable<TrieNode<V>> updated = this.children.copy();
+      updated.put(character, node);
+      this.children = updated;
+    } else {
+      this.children.put(character, node);
+    }
   }
 
   public void removeChild(char character) {
-    this.children.remove(character);
+    if (copyOnWrite || this.children.reshapesOnRemove(character)) {
+      ChildTable<TrieNode<V>> updated = this.children.copy();
+      if (updated.remove(character) != null) {
+        this.children = updated;
+      }
+    } else {
+      this.children.remove(character);
+    }
   }
 
   public boolean hasChild(char character) {
-    return this.children.containsKey(character);
+    return this.children.get(character) != null;
   }
 
   public boolean hasChildren() {
@@ -197,13 +327,30 @@ public class TrieNode<V> {
   }
 
   public Set<Character> getChildrenKeys() {
-    return this.children.keySet();
+    Set<Character> keys = new LinkedHashSet<>();
+    this.children.forEach((key, child) -> keys.add(key));
+    return Collections.unmodifiableSet(keys);
+  }
+
+  public int ceilingChildKey(int from) {
+    return this.children.ceilingKey(from);
+  }
+
+  public int floorChildKey(int from) {
+    return this.children.floorKey(from);
+  }
+
+  public void forEachChild(ChildVisitor<V> visitor) {
+    this.children.forEach(visitor::visit);
   }
 
   public Map<Character, TrieNode<V>> getChildrenMap() {
+    if (copyOnWrite) {
+      return this.children.toMap();
+    }
     lockRead();
     try {
-      return new HashMap<>(this.children);
+      return this.children.toMap();
     } finally {
       unlockRead();
     }
@@ -211,9 +358,11 @@ public class TrieNode<V> {
 
   public void clear() {
     saveSnapshot();
-    this.children.clear();
+    this.children = new ChildTable<>();
     this.value = null;
     this.isEndOfWord = false;
+    this.subtreeCount = 0;
+    setTopCompletions(RankedCompletions.EMPTY);
     updateModified();
   }
 
@@ -221,11 +370,11 @@ public class TrieNode<V> {
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("TrieNode{");
-    builder.append("version=").append(version);
+    builder.append("version=").append(getVersion());
     builder.append(", isEndOfWord=").append(isEndOfWord);
     builder.append(", value=").append(value);
     builder.append(", childrenCount=").append(children.size());
-    builder.append(", accessCount=").append(accessCount.get());
+    builder.append(", accessCount=").append(getAccessCount());
     builder.append('}');
     return builder.toString();
   }
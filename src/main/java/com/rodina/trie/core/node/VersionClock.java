@@ -0,0 +1,22 @@
+package com.rodina.trie.core.node;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+final class VersionClock {
+  static final int RANGE_SIZE = 1024;
+  private static final AtomicLong RANGE_END = new AtomicLong(0);
+  private static final ThreadLocal<long[]> RANGE =
+      ThreadLocal.withInitial(() -> new long[] {1, 1});
+
+  private VersionClock() {}
+
+  static long next(long current) {
+    long[] range = RANGE.get();
+    if (range[0] >= range[1] || range[0] <= current) {
+      long end = RANGE_END.addAndGet(RANGE_SIZE);
+      range[0] = end - RANGE_SIZE + 1;
+      range[1] = end + 1;
+    }
+    return range[0]++;
+  }
+}
@@ -1,6 +1,7 @@
 package com.rodina.trie.core.snapshot;
 
 import com.rodina.trie.core.node.TrieNode;
+import com.rodina.trie.core.util.ClockSource;
 
 public class TrieSnapshot<V> {
   private final long id;
@@ -14,8 +15,12 @@ public class TrieSnapshot<V> {
   }
 
   public TrieSnapshot(long id, TrieNode<V> root, int size, String description) {
+    this(id, root, size, description, ClockSource.now());
+  }
+
+  public TrieSnapshot(long id, TrieNode<V> root, int size, String description, long timestamp) {
     this.id = id;
-    this.timestamp = System.currentTimeMillis();
+    this.timestamp = timestamp;
     this.root = root;
     this.size = size;
     this.description = description;
@@ -1,6 +1,9 @@
 package com.rodina.trie.core.snapshot;
 
+import com.rodina.trie.core.node.NodeMode;
 import com.rodina.trie.core.node.TrieNode;
+import com.rodina.trie.core.util.ClockSource;
+import com.rodina.trie.core.util.TrieClock;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -10,20 +13,43 @@ public class TrieSnapshotManager<V> {
   private static final AtomicLong SNAPSHOT_ID_GENERATOR = new AtomicLong(0);
   private final ConcurrentHashMap<Long, TrieSnapshot<V>> snapshots;
   private final int maxSnapshots;
+  private final TrieClock clock;
 
   public TrieSnapshotManager() {
     this(10);
   }
 
   public TrieSnapshotManager(int maxSnapshots) {
+    this(maxSnapshots, ClockSource::now);
+  }
+
+  public TrieSnapshotManager(int maxSnapshots, TrieClock clock) {
     this.snapshots = new ConcurrentHashMap<>();
     this.maxSnapshots = maxSnapshots;
+    this.clock = clock;
   }
 
   public long createSnapshot(TrieNode<V> root, int size) {
+    return register(deepClone(root), size);
+  }
+
+  public long createSnapshot(Iterable<Map.Entry<String, V>> entries, int size) {
+    TrieNode<V> snapshotRoot = new TrieNode<>(NodeMode.LEAN);
+    for (Map.Entry<String, V> entry : entries) {
+      TrieNode<V> node = snapshotRoot;
+      String key = entry.getKey();
+      for (int i = 0; i < key.length(); i++) {
+        node = node.addChild(key.charAt(i));
+      }
+      node.setValue(entry.getValue());
+      node.setEndOfWord(true);
+    }
+    return register(snapshotRoot, size);
+  }
+
+  private long register(TrieNode<V> snapshotRoot, int size) {
     long snapshotId = SNAPSHOT_ID_GENERATOR.incrementAndGet();
-    TrieNode<V> clonedRoot = deepClone(root);
-    TrieSnapshot<V> snapshot = new TrieSnapshot<>(snapshotId, clonedRoot, size);
+    TrieSnapshot<V> snapshot = new TrieSnapshot<>(snapshotId, snapshotRoot, size, null, clock.millis());
     snapshots.put(snapshotId, snapshot);
     cleanupOldSnapshots();
     return snapshotId;
@@ -33,17 +59,10 @@ public class TrieSnapshotManager<V> {
     if (node == null) {
       return null;
     }
-    TrieNode<V> clone = new TrieNode<>();
+    TrieNode<V> clone = new TrieNode<>(NodeMode.LEAN);
     clone.setValue(node.getValue());
     clone.setEndOfWord(node.isEndOfWord());
-    node.lockRead();
-    try {
-      for (Map.Entry<Character, TrieNode<V>> entry : node.getChildrenMapDirect().entrySet()) {
-        clone.setChild(entry.getKey(), deepClone(entry.getValue()));
-      }
-    } finally {
-      node.unlockRead();
-    }
+    node.getChildrenMap().forEach((key, child) -> clone.setChild(key, deepClone(child)));
     return clone;
   }
 
@@ -0,0 +1,44 @@
+package com.rodina.trie.core.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public final class AccessSampler {
+  public static final int DEFAULT_SAMPLE_RATE = 16;
+  public static final long DEFAULT_HALF_LIFE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+  private final int sampleRate;
+  private final long halfLifeMillis;
+  private final long origin;
+
+  public AccessSampler() {
+    this(DEFAULT_SAMPLE_RATE, DEFAULT_HALF_LIFE_MILLIS);
+  }
+
+  public AccessSampler(int sampleRate, long halfLifeMillis) {
+    if (sampleRate <= 0) {
+      throw new IllegalArgumentException("Sample rate must be greater than 0");
+    }
+    if (halfLifeMillis <= 0) {
+      throw new IllegalArgumentException("Half-life must be greater than 0");
+    }
+    this.sampleRate = sampleRate;
+    this.halfLifeMillis = halfLifeMillis;
+    this.origin = ClockSource.now();
+  }
+
+  public int getSampleRate() {
+    return sampleRate;
+  }
+
+  public long getHalfLifeMillis() {
+    return halfLifeMillis;
+  }
+
+  public boolean sample() {
+    return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+  }
+
+  public int epoch() {
+    return (int) ((ClockSource.now() - origin) / halfLifeMillis);
+  }
+}
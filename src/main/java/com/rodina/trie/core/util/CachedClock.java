@@ -0,0 +1,36 @@
+package com.rodina.trie.core.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public final class CachedClock implements TrieClock, AutoCloseable {
+  private final ScheduledExecutorService ticker;
+  private volatile long now;
+
+  public CachedClock(long tickMillis) {
+    if (tickMillis <= 0) {
+      throw new IllegalArgumentException("Tick must be greater than 0");
+    }
+    this.now = System.currentTimeMillis();
+    this.ticker =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "trie-clock");
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.ticker.scheduleAtFixedRate(
+        () -> now = System.currentTimeMillis(), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public long millis() {
+    return now;
+  }
+
+  @Override
+  public void close() {
+    ticker.shutdownNow();
+  }
+}
@@ -0,0 +1,27 @@
+package com.rodina.trie.core.util;
+
+public final class ClockSource {
+  private static final TrieClock DEFAULT = new CachedClock(1);
+  private static volatile TrieClock clock = DEFAULT;
+
+  private ClockSource() {}
+
+  public static long now() {
+    return clock.millis();
+  }
+
+  public static TrieClock get() {
+    return clock;
+  }
+
+  public static void set(TrieClock newClock) {
+    if (newClock == null) {
+      throw new IllegalArgumentException("Clock cannot be null");
+    }
+    clock = newClock;
+  }
+
+  public static void reset() {
+    clock = DEFAULT;
+  }
+}
@@ -0,0 +1,175 @@
+package com.rodina.trie.core.util;
+
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+public final class GlobPattern implements KeyAutomaton<BitSet> {
+  private final String pattern;
+  private final List<Token> tokens;
+  private final String literalPrefix;
+
+  public GlobPattern(String pattern) {
+    if (pattern == null) {
+      throw new InvalidKeyException("Pattern cannot be null");
+    }
+    this.pattern = pattern;
+    this.tokens = parse(pattern);
+    StringBuilder prefix = new StringBuilder();
+    for (Token token : tokens) {
+      if (token.kind != Kind.LITERAL) {
+        break;
+      }
+      prefix.append(token.literal);
+    }
+    this.literalPrefix = prefix.toString();
+  }
+
+  public String getPattern() {
+    return pattern;
+  }
+
+  public String getLiteralPrefix() {
+    return literalPrefix;
+  }
+
+  @Override
+  public BitSet start() {
+    BitSet state = new BitSet(tokens.size() + 1);
+    state.set(0);
+    return closure(state);
+  }
+
+  @Override
+  public BitSet step(BitSet state, char character) {
+    BitSet next = new BitSet(tokens.size() + 1);
+    for (int i = state.nextSetBit(0); i >= 0 && i < tokens.size(); i = state.nextSetBit(i + 1)) {
+      Token token = tokens.get(i);
+      if (token.kind == Kind.STAR) {
+        next.set(i);
+      } else if (token.matches(character)) {
+        next.set(i + 1);
+      }
+    }
+    return closure(next);
+  }
+
+  @Override
+  public boolean isMatch(BitSet state) {
+    return state.get(tokens.size());
+  }
+
+  @Override
+  public boolean canMatch(BitSet state) {
+    return !state.isEmpty();
+  }
+
+  private BitSet closure(BitSet state) {
+    for (int i = state.nextSetBit(0); i >= 0 && i < tokens.size(); i = state.nextSetBit(i + 1)) {
+      if (tokens.get(i).kind == Kind.STAR) {
+        state.set(i + 1);
+      }
+    }
+    return state;
+  }
+
+  private static List<Token> parse(String pattern) {
+    List<Token> tokens = new ArrayList<>();
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i++);
+      switch (c) {
+        case '?' -> tokens.add(new Token(Kind.ANY, '\0', null, false));
+        case '*' -> {
+          if (tokens.isEmpty() || tokens.get(tokens.size() - 1).kind != Kind.STAR) {
+            tokens.add(new Token(Kind.STAR, '\0', null, false));
+          }
+        }
+        case '[' -> i = parseClass(pattern, i, tokens);
+        case '\\' -> {
+          if (i == pattern.length()) {
+            throw new InvalidKeyException("Dangling escape in pattern: " + pattern);
+          }
+          tokens.add(new Token(Kind.LITERAL, pattern.charAt(i++), null, false));
+        }
+        default -> tokens.add(new Token(Kind.LITERAL, c, null, false));
+      }
+    }
+    return tokens;
+  }
+
+  private static int parseClass(String pattern, int start, List<Token> tokens) {
+    int i = start;
+    boolean negated =
+        i < pattern.length() && (pattern.charAt(i) == '!' || pattern.charAt(i) == '^');
+    if (negated) {
+      i++;
+    }
+    StringBuilder ranges = new StringBuilder();
+    boolean first = true;
+    while (i < pattern.length() && (pattern.charAt(i) != ']' || first)) {
+      char low = pattern.charAt(i++);
+      if (low == '\\' && i < pattern.length()) {
+        low = pattern.charAt(i++);
+      }
+      char high = low;
+      if (i + 1 < pattern.length() && pattern.charAt(i) == '-' && pattern.charAt(i + 1) != ']') {
+        high = pattern.charAt(i + 1);
+        i += 2;
+        if (high == '\\' && i < pattern.length()) {
+          high = pattern.charAt(i++);
+        }
+        if (high < low) {
+          throw new InvalidKeyException("Invalid range in pattern: " + pattern);
+        }
+      }
+      ranges.append(low).append(high);
+      first = false;
+    }
+    if (i == pattern.length()) {
+      throw new InvalidKeyException("Unclosed character class in pattern: " + pattern);
+    }
+    tokens.add(new Token(Kind.CLASS, '\0', ranges.toString().toCharArray(), negated));
+    return i + 1;
+  }
+
+  private enum Kind {
+    LITERAL,
+    ANY,
+    STAR,
+    CLASS
+  }
+
+  private static final class Token {
+    private final Kind kind;
+    private final char literal;
+    private final char[] ranges;
+    private final boolean negated;
+
+    Token(Kind kind, char literal, char[] ranges, boolean negated) {
+      this.kind = kind;
+      this.literal = literal;
+      this.ranges = ranges;
+      this.negated = negated;
+    }
+
+    boolean matches(char character) {
+      return switch (kind) {
+        case LITERAL -> character == literal;
+        case ANY -> true;
+        case CLASS -> inClass(character) != negated;
+        case STAR -> false;
+      };
+    }
+
+    private boolean inClass(char character) {
+      for (int i = 0; i < ranges.length; i += 2) {
+        if (character >= ranges[i] && character <= ranges[i + 1]) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
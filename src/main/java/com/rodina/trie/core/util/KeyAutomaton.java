@@ -0,0 +1,11 @@
+package com.rodina.trie.core.util;
+
+public interface KeyAutomaton<S> {
+  S start();
+
+  S step(S state, char character);
+
+  boolean isMatch(S state);
+
+  boolean canMatch(S state);
+}
@@ -0,0 +1,49 @@
+package com.rodina.trie.core.util;
+
+public final class LevenshteinAutomaton implements KeyAutomaton<int[]> {
+  private final String term;
+  private final int maxEdits;
+
+  public LevenshteinAutomaton(String term, int maxEdits) {
+    if (maxEdits < 0) {
+      throw new IllegalArgumentException("Max edits cannot be negative");
+    }
+    this.term = term;
+    this.maxEdits = maxEdits;
+  }
+
+  @Override
+  public int[] start() {
+    int[] state = new int[term.length() + 1];
+    for (int i = 0; i < state.length; i++) {
+      state[i] = i;
+    }
+    return state;
+  }
+
+  @Override
+  public int[] step(int[] state, char character) {
+    int[] next = new int[state.length];
+    next[0] = state[0] + 1;
+    for (int i = 1; i < state.length; i++) {
+      int substitution = state[i - 1] + (term.charAt(i - 1) == character ? 0 : 1);
+      next[i] = Math.min(substitution, Math.min(state[i] + 1, next[i - 1] + 1));
+    }
+    return next;
+  }
+
+  @Override
+  public boolean isMatch(int[] state) {
+    return state[state.length - 1] <= maxEdits;
+  }
+
+  @Override
+  public boolean canMatch(int[] state) {
+    for (int distance : state) {
+      if (distance <= maxEdits) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
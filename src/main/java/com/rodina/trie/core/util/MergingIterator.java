@@ -0,0 +1,54 @@
+package com.rodina.trie.core.util;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+public class MergingIterator<V> implements Iterator<Map.Entry<String, V>> {
+  private final PriorityQueue<Head<V>> heads;
+
+  public MergingIterator(List<? extends Iterator<Map.Entry<String, V>>> sources) {
+    this.heads = new PriorityQueue<>(Math.max(sources.size(), 1));
+    for (Iterator<Map.Entry<String, V>> source : sources) {
+      advance(source);
+    }
+  }
+
+  private void advance(Iterator<Map.Entry<String, V>> source) {
+    if (source.hasNext()) {
+      heads.add(new Head<>(source.next(), source));
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !heads.isEmpty();
+  }
+
+  @Override
+  public Map.Entry<String, V> next() {
+    Head<V> head = heads.poll();
+    if (head == null) {
+      throw new NoSuchElementException("No more elements in the iteration");
+    }
+    advance(head.source);
+    return head.entry;
+  }
+
+  private static class Head<V> implements Comparable<Head<V>> {
+    private final Map.Entry<String, V> entry;
+    private final Iterator<Map.Entry<String, V>> source;
+
+    Head(Map.Entry<String, V> entry, Iterator<Map.Entry<String, V>> source) {
+      this.entry = entry;
+      this.source = source;
+    }
+
+    @Override
+    public int compareTo(Head<V> other) {
+      return entry.getKey().compareTo(other.entry.getKey());
+    }
+  }
+}
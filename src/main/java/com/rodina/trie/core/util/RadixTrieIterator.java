@@ -0,0 +1,98 @@
+package com.rodina.trie.core.util;
+
+import com.rodina.trie.core.node.RadixNode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class RadixTrieIterator<V> implements Iterator<Map.Entry<String, V>> {
+  private final Deque<NodeState<V>> stack;
+  private final String from;
+  private final boolean inclusive;
+  private Map.Entry<String, V> nextEntry;
+
+  public RadixTrieIterator(RadixNode<V> root) {
+    this(root, "");
+  }
+
+  public RadixTrieIterator(RadixNode<V> root, String path) {
+    this(root, path, null);
+  }
+
+  public RadixTrieIterator(RadixNode<V> root, String path, String after) {
+    this(root, path, after, false);
+  }
+
+  public RadixTrieIterator(RadixNode<V> root, String path, String from, boolean inclusive) {
+    this.stack = new ArrayDeque<>();
+    this.from = from;
+    this.inclusive = inclusive;
+    this.nextEntry = null;
+    if (root != null) {
+      this.stack.push(new NodeState<>(root, path));
+      findNext();
+    }
+  }
+
+  private void findNext() {
+    nextEntry = null;
+    while (!stack.isEmpty()) {
+      NodeState<V> currentState = stack.pop();
+      RadixNode<V> currentNode = currentState.node;
+      boolean onSeekPath = from != null && from.startsWith(currentState.path);
+      if (from != null && !onSeekPath && currentState.path.compareTo(from) < 0) {
+        continue;
+      }
+      List<NodeState<V>> children = new ArrayList<>();
+      V value;
+      boolean endOfWord;
+      currentNode.lockRead();
+      try {
+        currentNode.forEachChild(
+            (key, child) ->
+                children.add(new NodeState<>(child, currentState.path + child.getLabel())));
+        value = currentNode.getValue();
+        endOfWord = currentNode.isEndOfWord();
+      } finally {
+        currentNode.unlockRead();
+      }
+      for (int i = children.size() - 1; i >= 0; i--) {
+        stack.push(children.get(i));
+      }
+      boolean emit = !onSeekPath || (inclusive && currentState.path.length() == from.length());
+      if (endOfWord && value != null && emit) {
+        nextEntry = new TrieEntry<>(currentState.path, value);
+        return;
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return nextEntry != null;
+  }
+
+  @Override
+  public Map.Entry<String, V> next() {
+    if (nextEntry == null) {
+      throw new NoSuchElementException("No more elements in the iteration");
+    }
+    Map.Entry<String, V> result = nextEntry;
+    findNext();
+    return result;
+  }
+
+  private static class NodeState<V> {
+    private final RadixNode<V> node;
+    private final String path;
+
+    NodeState(RadixNode<V> node, String path) {
+      this.node = node;
+      this.path = path;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.rodina.trie.core.util;
+
+import com.rodina.trie.core.node.RadixNode;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class RadixTrieSpliterator<V> extends SubtreeSpliterator<RadixNode<V>, V> {
+  public RadixTrieSpliterator(RadixNode<V> root, String path) {
+    this(root, path, false);
+  }
+
+  public RadixTrieSpliterator(RadixNode<V> root, String path, boolean exact) {
+    super(root, path, root.getSubtreeCount(), exact);
+  }
+
+  private RadixTrieSpliterator(List<Frame<RadixNode<V>>> frames, boolean exact) {
+    super(frames, exact);
+  }
+
+  @Override
+  Iterator<Map.Entry<String, V>> iterate(RadixNode<V> node, String path) {
+    return new RadixTrieIterator<>(node, path);
+  }
+
+  @Override
+  V terminalValue(RadixNode<V> node) {
+    node.lockRead();
+    try {
+      return node.isEndOfWord() ? node.getValue() : null;
+    } finally {
+      node.unlockRead();
+    }
+  }
+
+  @Override
+  boolean expand(Frame<RadixNode<V>> frame, List<Frame<RadixNode<V>>> into) {
+    RadixNode<V> node = frame.node();
+    node.lockRead();
+    try {
+      if (!node.hasChildren()) {
+        return false;
+      }
+      if (node.isEndOfWord()) {
+        into.add(new Frame<>(node, frame.path(), true, 1));
+      }
+      node.forEachChild(
+          (key, child) ->
+              into.add(
+                  new Frame<>(
+                      child, frame.path() + child.getLabel(), false, child.getSubtreeCount())));
+      return true;
+    } finally {
+      node.unlockRead();
+    }
+  }
+
+  @Override
+  SubtreeSpliterator<RadixNode<V>, V> split(List<Frame<RadixNode<V>>> frames, boolean exact) {
+    return new RadixTrieSpliterator<>(frames, exact);
+  }
+}
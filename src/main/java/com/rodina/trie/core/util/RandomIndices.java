@@ -0,0 +1,26 @@
+package com.rodina.trie.core.util;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+public final class RandomIndices {
+  private RandomIndices() {}
+
+  public static int[] distinct(int bound, int count) {
+    if (count >= bound) {
+      return IntStream.range(0, Math.max(bound, 0)).toArray();
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Set<Integer> picked = new HashSet<>();
+    for (int candidate = bound - count; candidate < bound; candidate++) {
+      int index = random.nextInt(candidate + 1);
+      picked.add(picked.contains(index) ? candidate : index);
+    }
+    int[] indices = picked.stream().mapToInt(Integer::intValue).toArray();
+    Arrays.sort(indices);
+    return indices;
+  }
+}
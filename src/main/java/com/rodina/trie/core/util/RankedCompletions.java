@@ -0,0 +1,54 @@
+package com.rodina.trie.core.util;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+public final class RankedCompletions {
+  public static final RankedCompletions EMPTY = new RankedCompletions(0, new ScoredCompletion[0]);
+
+  private final int epoch;
+  private final ScoredCompletion[] completions;
+
+  public RankedCompletions(int epoch, List<ScoredCompletion> completions) {
+    this(epoch, completions.toArray(new ScoredCompletion[0]));
+  }
+
+  private RankedCompletions(int epoch, ScoredCompletion[] completions) {
+    this.epoch = epoch;
+    this.completions = completions;
+  }
+
+  public int getEpoch() {
+    return epoch;
+  }
+
+  public RankedCompletions decayTo(int epoch) {
+    int elapsed = epoch - this.epoch;
+    if (elapsed <= 0 || completions.length == 0) {
+      return this;
+    }
+    ScoredCompletion[] decayed = new ScoredCompletion[completions.length];
+    for (int i = 0; i < completions.length; i++) {
+      ScoredCompletion completion = completions[i];
+      long score = elapsed >= Long.SIZE - 1 ? 0 : completion.getScore() >>> elapsed;
+      decayed[i] = new ScoredCompletion(completion.getKey(), score);
+    }
+    Arrays.sort(decayed, ScoredCompletion.BY_SCORE);
+    return new RankedCompletions(epoch, decayed);
+  }
+
+  public List<ScoredCompletion> top(int limit) {
+    return List.of(Arrays.copyOf(completions, Math.min(limit, completions.length)));
+  }
+
+  public void forEach(ObjLongConsumer<String> action) {
+    for (ScoredCompletion completion : completions) {
+      action.accept(completion.getKey(), completion.getScore());
+    }
+  }
+
+  public boolean sameRanking(RankedCompletions other) {
+    return Arrays.equals(completions, other.completions);
+  }
+}
@@ -0,0 +1,45 @@
+package com.rodina.trie.core.util;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+public final class ScoredCompletion {
+  public static final Comparator<ScoredCompletion> BY_SCORE =
+      Comparator.comparingLong(ScoredCompletion::getScore)
+          .reversed()
+          .thenComparing(ScoredCompletion::getKey);
+
+  private final String key;
+  private final long score;
+
+  public ScoredCompletion(String key, long score) {
+    this.key = key;
+    this.score = score;
+  }
+
+  public String getKey() {
+    return key;
+  }
+
+  public long getScore() {
+    return score;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    ScoredCompletion that = (ScoredCompletion) o;
+    return score == that.score && key.equals(that.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(key, score);
+  }
+
+  @Override
+  public String toString() {
+    return key + "=" + score;
+  }
+}
@@ -0,0 +1,168 @@
+package com.rodina.trie.core.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+abstract class SubtreeSpliterator<N, V> implements Spliterator<Map.Entry<String, V>> {
+  private final Deque<Frame<N>> frames;
+  private final boolean exact;
+  private Iterator<Map.Entry<String, V>> active;
+  private long estimatedSize;
+
+  SubtreeSpliterator(N root, String path, long subtreeCount, boolean exact) {
+    this.frames = new ArrayDeque<>();
+    this.frames.add(new Frame<>(root, path, false, subtreeCount));
+    this.exact = exact;
+    this.estimatedSize = subtreeCount;
+  }
+
+  SubtreeSpliterator(List<Frame<N>> frames, boolean exact) {
+    this.frames = new ArrayDeque<>(frames);
+    this.exact = exact;
+    this.estimatedSize = sizeOf(frames);
+  }
+
+  abstract Iterator<Map.Entry<String, V>> iterate(N node, String path);
+
+  abstract V terminalValue(N node);
+
+  abstract boolean expand(Frame<N> frame, List<Frame<N>> into);
+
+  abstract SubtreeSpliterator<N, V> split(List<Frame<N>> frames, boolean exact);
+
+  @Override
+  public boolean tryAdvance(Consumer<? super Map.Entry<String, V>> action) {
+    while (active == null || !active.hasNext()) {
+      Frame<N> frame = frames.pollFirst();
+      if (frame == null) {
+        active = null;
+        return false;
+      }
+      if (frame.selfOnly) {
+        V value = terminalValue(frame.node);
+        if (value != null) {
+          emitted();
+          action.accept(new TrieEntry<>(frame.path, value));
+          return true;
+        }
+        continue;
+      }
+      active = iterate(frame.node, frame.path);
+    }
+    emitted();
+    action.accept(active.next());
+    return true;
+  }
+
+  @Override
+  public Spliterator<Map.Entry<String, V>> trySplit() {
+    if (active != null && active.hasNext()) {
+      return null;
+    }
+    List<Frame<N>> pending = new ArrayList<>(frames);
+    while (!pending.isEmpty()) {
+      int heaviest = heaviestFrame(pending);
+      Frame<N> frame = pending.get(heaviest);
+      if (pending.size() > 1 && frame.size * 2 <= sizeOf(pending)) {
+        break;
+      }
+      List<Frame<N>> expanded = new ArrayList<>();
+      if (frame.selfOnly || !expand(frame, expanded)) {
+        break;
+      }
+      pending.remove(heaviest);
+      pending.addAll(heaviest, expanded);
+    }
+    frames.clear();
+    frames.addAll(pending);
+    if (pending.size() < 2) {
+      estimatedSize = sizeOf(pending);
+      return null;
+    }
+    int cut = balancedCut(pending);
+    SubtreeSpliterator<N, V> prefix = split(pending.subList(0, cut), exact);
+    for (int i = 0; i < cut; i++) {
+      frames.pollFirst();
+    }
+    estimatedSize = sizeOf(frames);
+    return prefix;
+  }
+
+  @Override
+  public long estimateSize() {
+    return estimatedSize;
+  }
+
+  @Override
+  public int characteristics() {
+    return exact ? ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED : ORDERED | DISTINCT | NONNULL;
+  }
+
+  private void emitted() {
+    if (estimatedSize > 0) {
+      estimatedSize--;
+    }
+  }
+
+  private static <N> int heaviestFrame(List<Frame<N>> frames) {
+    int heaviest = 0;
+    for (int i = 1; i < frames.size(); i++) {
+      if (frames.get(i).size > frames.get(heaviest).size) {
+        heaviest = i;
+      }
+    }
+    return heaviest;
+  }
+
+  private static <N> int balancedCut(List<Frame<N>> frames) {
+    long total = sizeOf(frames);
+    long prefix = frames.get(0).size;
+    int cut = 1;
+    long best = Math.abs(2 * prefix - total);
+    for (int i = 1; i < frames.size() - 1; i++) {
+      prefix += frames.get(i).size;
+      long distance = Math.abs(2 * prefix - total);
+      if (distance < best) {
+        best = distance;
+        cut = i + 1;
+      }
+    }
+    return cut;
+  }
+
+  private static <N> long sizeOf(Iterable<Frame<N>> frames) {
+    long size = 0;
+    for (Frame<N> frame : frames) {
+      size += frame.size;
+    }
+    return size;
+  }
+
+  static final class Frame<N> {
+    private final N node;
+    private final String path;
+    private final boolean selfOnly;
+    private final long size;
+
+    Frame(N node, String path, boolean selfOnly, long size) {
+      this.node = node;
+      this.path = path;
+      this.selfOnly = selfOnly;
+      this.size = size;
+    }
+
+    N node() {
+      return node;
+    }
+
+    String path() {
+      return path;
+    }
+  }
+}
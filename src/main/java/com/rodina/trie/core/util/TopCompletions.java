@@ -0,0 +1,36 @@
+package com.rodina.trie.core.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class TopCompletions {
+  private final int limit;
+  private final PriorityQueue<ScoredCompletion> heap;
+
+  public TopCompletions(int limit) {
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be greater than 0");
+    }
+    this.limit = limit;
+    this.heap = new PriorityQueue<>(ScoredCompletion.BY_SCORE.reversed());
+  }
+
+  public void offer(String key, long score) {
+    if (heap.size() == limit) {
+      ScoredCompletion worst = heap.peek();
+      if (score < worst.getScore()
+          || (score == worst.getScore() && key.compareTo(worst.getKey()) >= 0)) {
+        return;
+      }
+      heap.poll();
+    }
+    heap.add(new ScoredCompletion(key, score));
+  }
+
+  public List<ScoredCompletion> toList() {
+    List<ScoredCompletion> result = new ArrayList<>(heap);
+    result.sort(ScoredCompletion.BY_SCORE);
+    return result;
+  }
+}
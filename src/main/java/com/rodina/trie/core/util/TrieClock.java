@@ -0,0 +1,8 @@
+package com.rodina.trie.core.util;
+
+@FunctionalInterface
+public interface TrieClock {
+  TrieClock SYSTEM = System::currentTimeMillis;
+
+  long millis();
+}
@@ -1,17 +1,20 @@
 package com.rodina.trie.core.util;
 
 import com.rodina.trie.core.node.TrieNode;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 
 public class TrieIterator<V> implements Iterator<Map.Entry<String, V>> {
-  private final Deque<NodeState<V>> stack;
+  private static final int INITIAL_DEPTH = 16;
+  private static final int UNVISITED = -1;
+  private final int baseLength;
+  private char[] path;
+  private TrieNode<V>[] nodes;
+  private int[] cursors;
+  private int depth;
+  private int childKey;
   private Map.Entry<String, V> nextEntry;
 
   public TrieIterator(TrieNode<V> root) {
@@ -19,38 +22,106 @@ public class TrieIterator<V> implements Iterator<Map.Entry<String, V>> {
   }
 
   public TrieIterator(TrieNode<V> root, String initialPrefix) {
-    this.stack = new ArrayDeque<>();
+    this(root, initialPrefix, null);
+  }
+
+  public TrieIterator(TrieNode<V> root, String initialPrefix, String after) {
+    this(root, initialPrefix, after, false);
+  }
+
+  @SuppressWarnings("unchecked")
+  public TrieIterator(TrieNode<V> root, String initialPrefix, String from, boolean inclusive) {
+    this.baseLength = initialPrefix.length();
+    this.path = Arrays.copyOf(initialPrefix.toCharArray(), baseLength + INITIAL_DEPTH);
+    this.nodes = (TrieNode<V>[]) new TrieNode<?>[INITIAL_DEPTH];
+    this.cursors = new int[INITIAL_DEPTH];
+    this.depth = -1;
     this.nextEntry = null;
-    if (root != null) {
-      this.stack.push(new NodeState<>(root, initialPrefix));
-      findNext();
+    if (root == null) {
+      return;
+    }
+    push(root);
+    if (from != null) {
+      if (from.startsWith(initialPrefix)) {
+        seek(from, inclusive);
+      } else if (from.compareTo(initialPrefix) > 0) {
+        nodes[depth--] = null;
+      }
+    }
+    findNext();
+  }
+
+  private void seek(String from, boolean inclusive) {
+    for (int i = baseLength; i < from.length(); i++) {
+      char character = from.charAt(i);
+      TrieNode<V> child = nextChild(nodes[depth], character);
+      cursors[depth] = character + 1;
+      if (child == null || childKey != character) {
+        return;
+      }
+      path[baseLength + depth] = character;
+      push(child);
+    }
+    if (!inclusive) {
+      cursors[depth] = 0;
     }
   }
 
   private void findNext() {
     nextEntry = null;
-    while (!stack.isEmpty()) {
-      NodeState<V> currentState = stack.pop();
-      TrieNode<V> currentNode = currentState.node;
-      String currentPrefix = currentState.prefix;
-
-      Map<Character, TrieNode<V>> childrenMap = currentNode.getChildrenMap();
-      if (childrenMap != null && !childrenMap.isEmpty()) {
-        List<Map.Entry<Character, TrieNode<V>>> sortedChildren =
-            new ArrayList<>(childrenMap.entrySet());
+    while (depth >= 0) {
+      TrieNode<V> currentNode = nodes[depth];
+      if (cursors[depth] == UNVISITED) {
+        cursors[depth] = 0;
+        V value = currentNode.getValue();
+        if (currentNode.isEndOfWord() && value != null) {
+          nextEntry = new TrieEntry<>(new String(path, 0, baseLength + depth), value);
+          return;
+        }
+      }
+      TrieNode<V> child = nextChild(currentNode, cursors[depth]);
+      if (child == null) {
+        nodes[depth--] = null;
+        continue;
+      }
+      cursors[depth] = childKey + 1;
+      path[baseLength + depth] = (char) childKey;
+      push(child);
+    }
+  }
 
-        sortedChildren.sort(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+  private void push(TrieNode<V> node) {
+    depth++;
+    if (depth == nodes.length) {
+      nodes = Arrays.copyOf(nodes, depth * 2);
+      cursors = Arrays.copyOf(cursors, depth * 2);
+    }
+    if (baseLength + depth >= path.length) {
+      path = Arrays.copyOf(path, path.length * 2);
+    }
+    nodes[depth] = node;
+    cursors[depth] = UNVISITED;
+  }
 
-        for (Map.Entry<Character, TrieNode<V>> entry : sortedChildren) {
-          TrieNode<V> childNode = entry.getValue();
-          String childPrefix = currentPrefix + entry.getKey();
-          stack.push(new NodeState<>(childNode, childPrefix));
+  private TrieNode<V> nextChild(TrieNode<V> node, int from) {
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      int key = node.ceilingChildKey(from);
+      while (key >= 0) {
+        TrieNode<V> child = node.getChild((char) key);
+        if (child != null) {
+          childKey = key;
+          return child;
         }
+        key = node.ceilingChildKey(key + 1);
       }
-
-      if (currentNode.isEndOfWord() && currentNode.getValue() != null) {
-        nextEntry = new TrieEntry<>(currentPrefix, currentNode.getValue());
-        return;
+      return null;
+    } finally {
+      if (locked) {
+        node.unlockRead();
       }
     }
   }
@@ -69,14 +140,4 @@ public class TrieIterator<V> implements Iterator<Map.Entry<String, V>> {
     findNext();
     return result;
   }
-
-  private static class NodeState<V> {
-    private final TrieNode<V> node;
-    private final String prefix;
-
-    NodeState(TrieNode<V> node, String prefix) {
-      this.node = node;
-      this.prefix = prefix;
-    }
-  }
 }
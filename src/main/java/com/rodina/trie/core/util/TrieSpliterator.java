@@ -0,0 +1,70 @@
+package com.rodina.trie.core.util;
+
+import com.rodina.trie.core.node.TrieNode;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class TrieSpliterator<V> extends SubtreeSpliterator<TrieNode<V>, V> {
+  public TrieSpliterator(TrieNode<V> root, String prefix) {
+    this(root, prefix, false);
+  }
+
+  public TrieSpliterator(TrieNode<V> root, String prefix, boolean exact) {
+    super(root, prefix, root.getSubtreeCount(), exact);
+  }
+
+  private TrieSpliterator(List<Frame<TrieNode<V>>> frames, boolean exact) {
+    super(frames, exact);
+  }
+
+  @Override
+  Iterator<Map.Entry<String, V>> iterate(TrieNode<V> node, String path) {
+    return new TrieIterator<>(node, path);
+  }
+
+  @Override
+  V terminalValue(TrieNode<V> node) {
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      return node.isEndOfWord() ? node.getValue() : null;
+    } finally {
+      if (locked) {
+        node.unlockRead();
+      }
+    }
+  }
+
+  @Override
+  boolean expand(Frame<TrieNode<V>> frame, List<Frame<TrieNode<V>>> into) {
+    TrieNode<V> node = frame.node();
+    boolean locked = !node.isCopyOnWrite();
+    if (locked) {
+      node.lockRead();
+    }
+    try {
+      if (!node.hasChildren()) {
+        return false;
+      }
+      if (node.isEndOfWord()) {
+        into.add(new Frame<>(node, frame.path(), true, 1));
+      }
+      node.forEachChild(
+          (key, child) ->
+              into.add(new Frame<>(child, frame.path() + key, false, child.getSubtreeCount())));
+      return true;
+    } finally {
+      if (locked) {
+        node.unlockRead();
+      }
+    }
+  }
+
+  @Override
+  SubtreeSpliterator<TrieNode<V>, V> split(List<Frame<TrieNode<V>>> frames, boolean exact) {
+    return new TrieSpliterator<>(frames, exact);
+  }
+}
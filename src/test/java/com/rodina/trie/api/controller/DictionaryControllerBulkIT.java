@@ -1,10 +1,12 @@
 package com.rodina.trie.api.controller;
 
+import static org.hamcrest.Matchers.contains;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.rodina.trie.api.dto.BatchSearchRequest;
 import com.rodina.trie.api.dto.BulkDeleteRequest;
 import com.rodina.trie.api.dto.BulkInsertRequest;
 import com.rodina.trie.api.dto.InsertRequest;
@@ -44,6 +46,29 @@ class DictionaryControllerBulkIT extends AbstractDictionaryControllerIT {
         .andExpect(jsonPath("$.successCount").value(3));
   }
 
+  @Test
+  @DisplayName("Should resolve a batch of keys in one request")
+  void batchSearchReturnsFoundEntries() throws Exception {
+    insertEntry("user:1", "alice");
+    insertEntry("user:2", "bob");
+    insertEntry("group:1", "admins");
+    BatchSearchRequest request = new BatchSearchRequest(List.of("user:2", "missing", "user:1"));
+    mockMvc
+        .perform(
+            post("/api/v1/dictionary/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[*].key", contains("user:1", "user:2")))
+        .andExpect(jsonPath("$[*].value", contains("alice", "bob")));
+    mockMvc
+        .perform(
+            post("/api/v1/dictionary/search/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BatchSearchRequest(List.of()))))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   @DisplayName("Should handle atomic delete failure and ignoreMissing flag")
   void bulkDeleteAtomicAndIgnoreMissing() throws Exception {
@@ -1,17 +1,24 @@
 package com.rodina.trie.api.controller;
 
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
 @DisplayName("Dictionary Controller Query Integration Tests")
 class DictionaryControllerQueryIT extends AbstractDictionaryControllerIT {
@@ -46,6 +53,130 @@ class DictionaryControllerQueryIT extends AbstractDictionaryControllerIT {
           .andExpect(jsonPath("$.items[*]", everyItem(startsWith("ap"))));
     }
 
+    @Test
+    @DisplayName("Should rank autocomplete suggestions by popularity on request")
+    void autocompleteByPopularity() throws Exception {
+      insertEntry("app", "application");
+      insertEntry("apple", "fruit");
+      insertEntry("banana", "fruit");
+      mockMvc
+          .perform(
+              get("/api/v1/dictionary/autocomplete")
+                  .param("prefix", "ap")
+                  .param("order", "POPULARITY"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.items", containsInAnyOrder("app", "apple")));
+      mockMvc
+          .perform(
+              get("/api/v1/dictionary/autocomplete").param("prefix", "ap").param("order", "RANDOM"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return entries within the requested edit distance")
+    void fuzzySearchReturnsNearbyKeys() throws Exception {
+      insertEntry("apple", "fruit");
+      insertEntry("maple", "tree");
+      insertEntry("banana", "fruit");
+      mockMvc
+          .perform(get("/api/v1/dictionary/fuzzy").param("term", "aple"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("apple", "maple")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/fuzzy").param("term", "aple").param("maxEdits", "4"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return entries matching a glob pattern")
+    void matchReturnsGlobMatches() throws Exception {
+      insertEntry("apple", "fruit");
+      insertEntry("maple", "tree");
+      insertEntry("banana", "fruit");
+      mockMvc
+          .perform(get("/api/v1/dictionary/match").param("pattern", "*ple"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("apple", "maple")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/match").param("pattern", "[ab"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return entries within a key range")
+    void rangeReturnsBoundedEntries() throws Exception {
+      insertEntry("alpha", 1);
+      insertEntry("beta", 2);
+      insertEntry("delta", 3);
+      insertEntry("gamma", 4);
+      mockMvc
+          .perform(get("/api/v1/dictionary/range").param("from", "b").param("to", "e"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("beta", "delta")));
+      mockMvc
+          .perform(
+              get("/api/v1/dictionary/range").param("from", "beta").param("fromInclusive", "false"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("delta", "gamma")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/range").param("from", "z").param("to", "a"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return entries by suffix and by infix")
+    void suffixAndInfixReturnMatches() throws Exception {
+      insertEntry("apple", "fruit");
+      insertEntry("pineapple", "fruit");
+      insertEntry("grape", "fruit");
+      mockMvc
+          .perform(get("/api/v1/dictionary/suffix").param("suffix", "ple"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("apple", "pineapple")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/infix").param("fragment", "ap"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("apple", "grape", "pineapple")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/infix").param("fragment", "ap").param("limit", "0"))
+          .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should count keys under a prefix")
+    void countByPrefixReturnsCount() throws Exception {
+      insertEntry("color", "red");
+      insertEntry("cold", "ice");
+      insertEntry("heat", "fire");
+      mockMvc
+          .perform(get("/api/v1/dictionary/count").param("prefix", "co"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.count").value(2));
+      mockMvc
+          .perform(get("/api/v1/dictionary/count"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.count").value(3));
+    }
+
+    @Test
+    @DisplayName("Should resolve the longest stored prefix of an input")
+    void longestPrefixReturnsEntry() throws Exception {
+      insertEntry("/api", "gateway");
+      insertEntry("/api/users", "users");
+      mockMvc
+          .perform(get("/api/v1/dictionary/longest-prefix").param("input", "/api/users/42"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.key").value("/api/users"))
+          .andExpect(jsonPath("$.value").value("users"));
+      mockMvc
+          .perform(get("/api/v1/dictionary/prefixes-of").param("input", "/api/users/42"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("/api", "/api/users")));
+      mockMvc
+          .perform(get("/api/v1/dictionary/longest-prefix").param("input", "/static"))
+          .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should return all entries matching prefix in prefix search")
     void searchByPrefixReturnsMatches() throws Exception {
@@ -60,6 +191,121 @@ class DictionaryControllerQueryIT extends AbstractDictionaryControllerIT {
     }
   }
 
+  @Nested
+  @DisplayName("Pagination Tests")
+  class PaginationTests {
+    @Test
+    @DisplayName("Should page prefix results with a resume cursor")
+    void pagesPrefixResults() throws Exception {
+      insertEntry("cab", 1);
+      insertEntry("car", 2);
+      insertEntry("cat", 3);
+      MvcResult firstPage =
+          mockMvc
+              .perform(get("/api/v1/dictionary/prefix").param("prefix", "c").param("pageSize", "2"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$[*].key", contains("cab", "car")))
+              .andExpect(header().exists("X-Next-Cursor"))
+              .andReturn();
+      String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+      mockMvc
+          .perform(
+              get("/api/v1/dictionary/prefix")
+                  .param("prefix", "c")
+                  .param("pageSize", "2")
+                  .param("cursor", cursor))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$[*].key", contains("cat")))
+          .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should page all keys with a resume cursor")
+    void pagesAllKeys() throws Exception {
+      insertEntry("alpha", 1);
+      insertEntry("beta", 2);
+      MvcResult firstPage =
+          mockMvc
+              .perform(get("/api/v1/dictionary/keys").param("pageSize", "1"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.items", contains("alpha")))
+              .andReturn();
+      String cursor = firstPage.getResponse().getHeader("X-Next-Cursor");
+      mockMvc
+          .perform(get("/api/v1/dictionary/keys").param("pageSize", "1").param("cursor", cursor))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.items", contains("beta")))
+          .andExpect(jsonPath("$.count", is(1)))
+          .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and out-of-range page sizes")
+    void rejectsInvalidPagingParameters() throws Exception {
+      mockMvc
+          .perform(get("/api/v1/dictionary/keys").param("cursor", "%%%"))
+          .andExpect(status().isBadRequest());
+      mockMvc
+          .perform(get("/api/v1/dictionary/keys").param("pageSize", "0"))
+          .andExpect(status().isBadRequest());
+    }
+  }
+
+  @Nested
+  @DisplayName("Streaming Tests")
+  class StreamingTests {
+    @Test
+    @DisplayName("Should stream prefix matches as newline-delimited JSON")
+    void streamsPrefixMatches() throws Exception {
+      insertEntry("color", "red");
+      insertEntry("cold", "ice");
+      insertEntry("heat", "fire");
+      MvcResult result =
+          mockMvc
+              .perform(
+                  get("/api/v1/dictionary/prefix")
+                      .param("prefix", "co")
+                      .accept(MediaType.APPLICATION_NDJSON))
+              .andExpect(request().asyncStarted())
+              .andReturn();
+      mockMvc
+          .perform(asyncDispatch(result))
+          .andExpect(status().isOk())
+          .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+          .andExpect(
+              content()
+                  .string(
+                      "{\"key\":\"cold\",\"value\":\"ice\"}\n"
+                          + "{\"key\":\"color\",\"value\":\"red\"}\n"));
+    }
+
+    @Test
+    @DisplayName("Should stream all keys as newline-delimited JSON")
+    void streamsAllKeys() throws Exception {
+      insertEntry("beta", 2);
+      insertEntry("alpha", 1);
+      MvcResult result =
+          mockMvc
+              .perform(get("/api/v1/dictionary/keys").accept(MediaType.APPLICATION_NDJSON))
+              .andExpect(request().asyncStarted())
+              .andReturn();
+      mockMvc
+          .perform(asyncDispatch(result))
+          .andExpect(status().isOk())
+          .andExpect(content().string("\"alpha\"\n\"beta\"\n"));
+    }
+
+    @Test
+    @DisplayName("Should keep JSON array responses when NDJSON is not requested")
+    void keepsJsonArrayByDefault() throws Exception {
+      insertEntry("alpha", 1);
+      mockMvc
+          .perform(get("/api/v1/dictionary/keys").accept(MediaType.APPLICATION_JSON))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.items", contains("alpha")));
+    }
+  }
+
   @Nested
   @DisplayName("Unicode Tests")
   class UnicodeTests {
@@ -6,10 +6,12 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import com.rodina.trie.api.dto.BulkDeleteRequest;
 import com.rodina.trie.api.dto.BulkInsertRequest;
 import com.rodina.trie.api.dto.BulkOperationResponse;
+import com.rodina.trie.api.dto.CursorPage;
 import com.rodina.trie.api.dto.DictionaryEntryDto;
 import com.rodina.trie.api.dto.InsertRequest;
 import com.rodina.trie.core.impl.ConcurrentTrie;
 import com.rodina.trie.core.transaction.TransactionManager;
+import com.rodina.trie.exception.InvalidKeyException;
 import com.rodina.trie.exception.NodeNotFoundException;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +59,47 @@ class DictionaryServiceTest {
     assertThat(entries).hasSize(2);
   }
 
+  @Test
+  @DisplayName("Cursor pages walk prefix results without gaps or repeats")
+  void cursorPagesWalkPrefixResults() {
+    for (String key : List.of("cab", "car", "cat", "cow", "dog")) {
+      service.insert(new InsertRequest(key, key.length()));
+    }
+
+    CursorPage<DictionaryEntryDto> first = service.searchByPrefix("c", null, 2);
+    assertThat(first.getItems())
+        .extracting(DictionaryEntryDto::getKey)
+        .containsExactly("cab", "car");
+    assertThat(first.hasNext()).isTrue();
+
+    CursorPage<DictionaryEntryDto> second = service.searchByPrefix("c", first.getNextCursor(), 2);
+    assertThat(second.getItems())
+        .extracting(DictionaryEntryDto::getKey)
+        .containsExactly("cat", "cow");
+    assertThat(second.hasNext()).isFalse();
+
+    CursorPage<String> keys = service.getAllKeys(second.getNextCursor(), 10);
+    assertThat(keys.getItems()).containsExactly("cab", "car", "cat", "cow", "dog");
+    assertThat(service.getAllKeys(first.getNextCursor(), 10).getItems())
+        .containsExactly("cat", "cow", "dog");
+
+    assertThatThrownBy(() -> service.getAllKeys("%%%", 10))
+        .isInstanceOf(InvalidKeyException.class);
+  }
+
+  @Test
+  @DisplayName("Streams prefix entries and keys lazily in key order")
+  void streamsPrefixEntriesAndKeys() {
+    service.insert(new InsertRequest("cold", "ice"));
+    service.insert(new InsertRequest("color", "red"));
+    service.insert(new InsertRequest("heat", "fire"));
+
+    assertThat(service.streamByPrefix("co"))
+        .containsExactly(
+            new DictionaryEntryDto("cold", "ice"), new DictionaryEntryDto("color", "red"));
+    assertThat(service.streamAllKeys()).containsExactly("cold", "color", "heat");
+  }
+
   @Test
   @DisplayName("Clear operation works correctly")
   void clearOperationWorks() {
@@ -121,6 +164,8 @@ class DictionaryServiceTest {
     assertThat(service.startsWith("app")).isTrue();
     assertThat(service.startsWith("xyz")).isFalse();
     assertThat(service.startsWith("hello")).isTrue();
+    assertThat(service.countByPrefix("")).isEqualTo(3);
+    assertThat(service.countByPrefix("app")).isEqualTo(1);
 
     List<String> keys = service.getAllKeys();
     assertThat(keys).containsExactlyInAnyOrder("application", "banana", "hello");
@@ -0,0 +1,360 @@
+package com.rodina.trie.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.core.util.ScoredCompletion;
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Concurrent Radix Trie Tests")
+class ConcurrentRadixTrieTest {
+  private ConcurrentRadixTrie<String> trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new ConcurrentRadixTrie<>();
+  }
+
+  @Nested
+  @DisplayName("Edge Splitting Tests")
+  class EdgeSplittingTests {
+    @Test
+    @DisplayName("Should store a single key as one compressed edge")
+    void singleKeyIsOneEdge() {
+      trie.insert("https://example.com/api", "root");
+      assertThat(trie.getRoot().getChildrenCount()).isEqualTo(1);
+      assertThat(trie.getRoot().getOnlyChild().getLabel()).isEqualTo("https://example.com/api");
+      assertThat(trie.search("https://example.com/api")).contains("root");
+      assertThat(trie.search("https://example.com")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should split an edge when keys diverge inside a label")
+    void splitsEdgeOnDivergence() {
+      trie.insert("romane", "1");
+      trie.insert("romanus", "2");
+      trie.insert("rom", "3");
+      assertThat(trie.getRoot().getOnlyChild().getLabel()).isEqualTo("rom");
+      assertThat(trie.search("romane")).contains("1");
+      assertThat(trie.search("romanus")).contains("2");
+      assertThat(trie.search("rom")).contains("3");
+      assertThat(trie.search("roman")).isEmpty();
+      assertThat(trie.size()).isEqualTo(3);
+    }
+  }
+
+  @Nested
+  @DisplayName("Delete And Merge Tests")
+  class DeleteAndMergeTests {
+    @Test
+    @DisplayName("Should merge a pass-through node with its only child after delete")
+    void mergesAfterDelete() {
+      trie.insert("team", "1");
+      trie.insert("test", "2");
+      trie.insert("toast", "3");
+      assertThat(trie.delete("test")).isTrue();
+      assertThat(trie.delete("toast")).isTrue();
+      assertThat(trie.getRoot().getOnlyChild().getLabel()).isEqualTo("team");
+      assertThat(trie.search("team")).contains("1");
+      assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should merge a deleted inner key into its single child")
+    void mergesDeletedInnerKey() {
+      trie.insert("car", "1");
+      trie.insert("carbon", "2");
+      assertThat(trie.delete("car")).isTrue();
+      assertThat(trie.getRoot().getOnlyChild().getLabel()).isEqualTo("carbon");
+      assertThat(trie.has("car")).isFalse();
+      assertThat(trie.has("carbon")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should return false for missing keys and partial edges")
+    void deleteMissingKey() {
+      trie.insert("carbon", "1");
+      assertThat(trie.delete("car")).isFalse();
+      assertThat(trie.delete("carbonate")).isFalse();
+      assertThat(trie.size()).isEqualTo(1);
+    }
+  }
+
+  @Nested
+  @DisplayName("Query Tests")
+  class QueryTests {
+    @Test
+    @DisplayName("Should resolve prefixes ending inside an edge label")
+    void prefixInsideEdge() {
+      trie.insert("application", "1");
+      trie.insert("apply", "2");
+      trie.insert("banana", "3");
+      assertThat(trie.startsWith("appl")).isTrue();
+      assertThat(trie.startsWith("appx")).isFalse();
+      assertThat(trie.searchByPrefix("ap"))
+          .extracting(Map.Entry::getKey)
+          .containsExactly("application", "apply");
+      assertThat(trie.autocomplete("a", 1)).containsExactly("application");
+      assertThat(trie.getAllKeys()).containsExactly("application", "apply", "banana");
+    }
+
+    @Test
+    @DisplayName("Should compute longest common prefix across compressed edges")
+    void longestCommonPrefix() {
+      assertThat(trie.longestCommonPrefix()).isEmpty();
+      trie.insert("apple", "1");
+      trie.insert("application", "2");
+      assertThat(trie.longestCommonPrefix()).isEqualTo("appl");
+    }
+
+    @Test
+    @DisplayName("Should validate keys like the character trie")
+    void validatesKeys() {
+      assertThatThrownBy(() -> trie.insert("", "v")).isInstanceOf(InvalidKeyException.class);
+      assertThatThrownBy(() -> trie.search(null)).isInstanceOf(InvalidKeyException.class);
+      assertThatThrownBy(() -> trie.insert("k", null))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Snapshot Tests")
+  class SnapshotTests {
+    @Test
+    @DisplayName("Should rollback to a snapshot")
+    void rollbackToSnapshot() {
+      trie.insert("alpha", "1");
+      long snapshotId = trie.createSnapshot();
+      trie.insert("alpine", "2");
+      trie.delete("alpha");
+      assertThat(trie.rollbackToSnapshot(snapshotId)).isTrue();
+      assertThat(trie.getAllKeys()).containsExactly("alpha");
+      assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rollback a single key to its previous value")
+    void rollbackNode() {
+      trie.insert("key", "v1");
+      trie.insert("key", "v2");
+      assertThat(trie.rollbackNode("key")).isTrue();
+      assertThat(trie.search("key")).contains("v1");
+      assertThat(trie.rollbackNode("missing")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should skip node history in lean mode")
+    void leanModeSkipsHistory() {
+      ConcurrentRadixTrie<String> lean = new ConcurrentRadixTrie<>(10, NodeMode.LEAN);
+      lean.insert("key", "v1");
+      lean.insert("key", "v2");
+      assertThat(lean.rollbackNode("key")).isFalse();
+      assertThat(lean.search("key")).contains("v2");
+      assertThat(lean.getRoot().getMode()).isEqualTo(NodeMode.LEAN);
+    }
+  }
+
+  @Test
+  @DisplayName("Should rank completions by sampled access counts")
+  void ranksCompletionsByPopularity() {
+    ConcurrentRadixTrie<String> counted =
+        new ConcurrentRadixTrie<>(10, NodeMode.FULL, new AccessSampler(1, Long.MAX_VALUE));
+    for (String key : List.of("team", "teams", "tea", "ten")) {
+      counted.insert(key, key);
+    }
+    counted.search("teams");
+    counted.search("teams");
+    counted.search("ten");
+
+    assertThat(counted.popularCompletions("te", 2))
+        .extracting(ScoredCompletion::getKey)
+        .containsExactly("teams", "ten");
+    assertThat(counted.popularCompletions("tea", 5))
+        .extracting(ScoredCompletion::getKey)
+        .containsExactly("teams", "tea", "team");
+  }
+
+  @Test
+  @DisplayName("Should match fuzzy terms inside compressed edges")
+  void fuzzySearchAcrossLabels() {
+    for (String key : List.of("international", "internal", "interval", "intern")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.fuzzySearch("internl", 1, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("intern", "internal");
+    assertThat(trie.fuzzySearch("intervals", 2, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("internal", "interval");
+  }
+
+  @Test
+  @DisplayName("Should match glob patterns inside compressed edges")
+  void matchAcrossLabels() {
+    for (String key : List.of("international", "internal", "interval", "intern")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.match("inter?al", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("internal", "interval");
+    assertThat(trie.match("intern*", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("intern", "internal", "international");
+    assertThat(trie.match("intern", 10)).extracting(Map.Entry::getKey).containsExactly("intern");
+    assertThat(trie.match("internat", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should navigate and scan ranges across compressed edges")
+  void navigatesAcrossLabels() {
+    for (String key : List.of("romane", "romanus", "romulus", "rubens", "ruber")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.floorKey("romanz")).contains("romanus");
+    assertThat(trie.lowerKey("rubens")).contains("romulus");
+    assertThat(trie.ceilingKey("roman")).contains("romane");
+    assertThat(trie.higherKey("romulus")).contains("rubens");
+    assertThat(trie.floorKey("a")).isEmpty();
+    assertThat(trie.range("romanus", true, "rubens", false, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("romanus", "romulus");
+  }
+
+  @Test
+  @DisplayName("Should serve suffix and infix queries from the substring index")
+  void substringIndexFollowsUpdates() {
+    ConcurrentRadixTrie<String> indexed =
+        new ConcurrentRadixTrie<>(10, NodeMode.FULL, new AccessSampler(), new SubstringIndex());
+    for (String key : List.of("testing", "tested", "resting", "rest")) {
+      indexed.insert(key, key);
+    }
+    assertThat(indexed.endsWith("ting", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("resting", "testing");
+    assertThat(indexed.contains("est", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("rest", "resting", "tested", "testing");
+    indexed.delete("resting");
+    assertThat(indexed.endsWith("ting", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("testing");
+    assertThat(indexed.contains("sti", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("testing");
+  }
+
+  @Test
+  @DisplayName("Should keep prefix counts exact through edge splits and merges")
+  void countsAcrossSplitsAndMerges() {
+    for (String key : List.of("romane", "romanus", "romulus", "rubens", "ruber", "rubicon")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.countByPrefix("r")).isEqualTo(6);
+    assertThat(trie.countByPrefix("rom")).isEqualTo(3);
+    assertThat(trie.countByPrefix("roma")).isEqualTo(2);
+    assertThat(trie.countByPrefix("rube")).isEqualTo(2);
+    trie.insert("rom", "rom");
+    assertThat(trie.countByPrefix("ro")).isEqualTo(4);
+    trie.delete("romulus");
+    trie.delete("romanus");
+    assertThat(trie.countByPrefix("rom")).isEqualTo(2);
+    assertThat(trie.countByPrefix("roman")).isEqualTo(1);
+    assertThat(trie.countByPrefix("")).isEqualTo(trie.size());
+  }
+
+  @Test
+  @DisplayName("Should rank and select keys that end inside an edge")
+  void ranksAndSelectsAcrossLabels() {
+    for (String key : List.of("romane", "romanus", "romulus", "rubens", "ruber")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.rank("roma")).isZero();
+    assertThat(trie.rank("romanz")).isEqualTo(2);
+    assertThat(trie.rank("rubeo")).isEqualTo(4);
+    assertThat(trie.rank("s")).isEqualTo(5);
+    assertThat(trie.select("rom", 2)).contains("romulus");
+    assertThat(trie.select("ro", 0)).contains("romane");
+    assertThat(trie.select("rub", 2)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should stop the prefix walk where the input leaves an edge")
+  void findsPrefixesAcrossLabels() {
+    for (String key : List.of("route", "router", "routers/east", "rout")) {
+      trie.insert(key, key);
+    }
+    assertThat(trie.allPrefixesOf("routers/west"))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("rout", "route", "router");
+    assertThat(trie.longestPrefixOf("routers/east/1"))
+        .map(Map.Entry::getKey)
+        .contains("routers/east");
+    assertThat(trie.longestPrefixOf("rou")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should share edge descents across a batch of keys")
+  void searchAllAcrossLabels() {
+    for (String key : List.of("romane", "romanus", "romulus", "rubens", "rom")) {
+      trie.insert(key, key.toUpperCase());
+    }
+    assertThat(trie.searchAll(List.of("romulus", "roma", "rom", "romanus", "rubicon", "romane")))
+        .containsExactly(
+            Map.entry("rom", "ROM"),
+            Map.entry("romane", "ROMANE"),
+            Map.entry("romanus", "ROMANUS"),
+            Map.entry("romulus", "ROMULUS"));
+  }
+
+  @Test
+  @DisplayName("Should keep all keys under concurrent inserts and deletes")
+  void concurrentInsertsAndDeletes() throws InterruptedException {
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    for (int t = 0; t < threadCount; t++) {
+      int threadId = t;
+      executor.submit(
+          () -> {
+            try {
+              for (int i = 0; i < 500; i++) {
+                String key = "user/" + (i % 7) + "/" + threadId + "/" + i;
+                trie.insert(key, "v");
+                if (i % 3 == 0) {
+                  trie.delete(key);
+                }
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+    }
+    assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    List<String> expected = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      for (int i = 0; i < 500; i++) {
+        if (i % 3 != 0) {
+          expected.add("user/" + (i % 7) + "/" + t + "/" + i);
+        }
+      }
+    }
+    assertThat(trie.size()).isEqualTo(expected.size());
+    assertThat(trie.getAllKeys()).containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(trie.countByPrefix("user/")).isEqualTo(expected.size());
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.groups.Tuple.tuple;
 
+import com.rodina.trie.core.node.NodeMode;
 import com.rodina.trie.exception.InvalidKeyException;
 import java.util.List;
 import java.util.Map;
@@ -210,4 +211,20 @@ class ConcurrentTrieAdvancedTest {
     trie.insert("band", 3);
     assertThat(trie.getAllKeys()).containsExactly("alpha", "band", "bravo");
   }
+
+  @Test
+  @DisplayName("Should work without node history in lean mode")
+  void leanModeKeepsDataAndCheckpoints() {
+    ConcurrentTrie<Object> lean = new ConcurrentTrie<>(10, NodeMode.LEAN);
+    lean.insert("apple", 1);
+    lean.insert("apply", 2);
+    lean.insert("apple", 3);
+    assertThat(lean.search("apple")).contains(3);
+    assertThat(lean.rollbackNode("apple")).isFalse();
+    long snapshotId = lean.createSnapshot();
+    lean.delete("apply");
+    assertThat(lean.rollbackToSnapshot(snapshotId)).isTrue();
+    assertThat(lean.getAllKeys()).containsExactly("apple", "apply");
+    assertThat(lean.size()).isEqualTo(2);
+  }
 }
@@ -3,9 +3,16 @@ package com.rodina.trie.core.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.node.StripedLockPool;
+import com.rodina.trie.core.node.TrieNode;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.core.util.ScoredCompletion;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -195,6 +202,61 @@ class ConcurrentTrieConcurrencyTest {
     assertThat(trie.size()).isEqualTo(threadCount / 2 + (threadCount % 2));
   }
 
+  @Test
+  @DisplayName("Should keep cached top completions equal to a full walk under concurrent writes")
+  void cachedTopCompletionsMatchWalkUnderConcurrentWrites() throws InterruptedException {
+    int topK = 5;
+    ConcurrentTrie<Integer> trie =
+        new ConcurrentTrie<>(
+            10,
+            NodeMode.FULL,
+            ReadMode.LOCKED,
+            null,
+            new AccessSampler(1, Long.MAX_VALUE),
+            null,
+            topK);
+    int threadCount = getOptimalThreadCount();
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch endLatch = new CountDownLatch(threadCount);
+
+    for (int i = 0; i < threadCount; i++) {
+      final int seed = i;
+      executor.submit(
+          () -> {
+            try {
+              startLatch.await();
+              Random random = new Random(seed);
+              for (int op = 0; op < 2000; op++) {
+                String key = "k" + random.nextInt(8) + random.nextInt(8);
+                int action = random.nextInt(4);
+                if (action == 0) {
+                  trie.insert(key, op);
+                } else if (action == 1) {
+                  trie.delete(key);
+                } else {
+                  trie.search(key);
+                }
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              endLatch.countDown();
+            }
+          });
+    }
+
+    startLatch.countDown();
+    assertThat(endLatch.await(30, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    for (String prefix : List.of("", "k", "k0", "k3", "k7")) {
+      List<ScoredCompletion> walked = trie.popularCompletions(prefix, topK + 1);
+      assertThat(trie.popularCompletions(prefix, topK))
+          .isEqualTo(walked.subList(0, Math.min(topK, walked.size())));
+    }
+  }
+
   @Test
   @DisplayName("Should not corrupt state during concurrent prefix searches")
   void concurrentPrefixSearchDoesNotCorruptState() throws InterruptedException {
@@ -251,4 +313,165 @@ class ConcurrentTrieConcurrencyTest {
     assertThat(exceptions).isEmpty();
     assertThat(trie.size()).isEqualTo(writeThreads * items);
   }
+
+  @Test
+  @DisplayName("Should never miss stable keys in locked reads while neighbours change")
+  void lockedReadsSeeStableKeysUnderWrites() throws InterruptedException {
+    ConcurrentTrie<Integer> trie = new ConcurrentTrie<>();
+    assertThat(trie.getReadMode()).isEqualTo(ReadMode.LOCKED);
+    assertReadsSeeStableKeysUnderWrites(trie);
+  }
+
+  @Test
+  @DisplayName("Should never miss stable keys in optimistic reads while neighbours change")
+  void optimisticReadsSeeStableKeysUnderWrites() throws InterruptedException {
+    assertReadsSeeStableKeysUnderWrites(
+        new ConcurrentTrie<>(10, NodeMode.FULL, ReadMode.OPTIMISTIC));
+  }
+
+  @Test
+  @DisplayName("Should never miss stable keys in lock-free reads while neighbours change")
+  void lockFreeReadsSeeStableKeysUnderWrites() throws InterruptedException {
+    assertReadsSeeStableKeysUnderWrites(
+        new ConcurrentTrie<>(10, NodeMode.FULL, ReadMode.LOCK_FREE));
+  }
+
+  @Test
+  @DisplayName("Should keep an exact size with striped locks under concurrent inserts and deletes")
+  void stripedLocksKeepExactSize() throws InterruptedException {
+    ConcurrentTrie<Integer> trie =
+        new ConcurrentTrie<>(10, NodeMode.FULL, ReadMode.LOCKED, new StripedLockPool(4));
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch endLatch = new CountDownLatch(threadCount);
+
+    for (int i = 0; i < threadCount; i++) {
+      final int threadId = i;
+      executor.submit(
+          () -> {
+            try {
+              startLatch.await();
+              for (int j = 0; j < 2000; j++) {
+                String key = "shared-" + (j % 100) + "/" + threadId;
+                trie.insert(key, j);
+                trie.search(key);
+                trie.delete(key);
+              }
+              for (int j = 0; j < 50; j++) {
+                trie.insert("kept-" + threadId + "-" + j, j);
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              endLatch.countDown();
+            }
+          });
+    }
+
+    startLatch.countDown();
+    assertThat(endLatch.await(30, TimeUnit.SECONDS)).as("No deadlock").isTrue();
+    executor.shutdown();
+
+    assertThat(trie.size()).isEqualTo(threadCount * 50);
+    assertThat(trie.getAllKeys()).hasSize(threadCount * 50);
+    assertThat(trie.startsWith("shared-")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should keep striped locks on nodes restored from a snapshot")
+  void stripedLocksSurviveRollback() {
+    StripedLockPool lockPool = new StripedLockPool(4);
+    ConcurrentTrie<Integer> trie =
+        new ConcurrentTrie<>(10, NodeMode.FULL, ReadMode.LOCKED, lockPool);
+    trie.insert("apple", 1);
+    trie.insert("apply", 2);
+    long snapshotId = trie.createSnapshot();
+    trie.delete("apple");
+    trie.insert("banana", 3);
+
+    assertThat(trie.rollbackToSnapshot(snapshotId)).isTrue();
+
+    for (String key : List.of("apple", "apply")) {
+      TrieNode<Integer> node = trie.getRoot();
+      for (char c : key.toCharArray()) {
+        node = node.getChild(c);
+        assertThat(node.getLockPool()).isSameAs(lockPool);
+      }
+    }
+    assertThat(trie.search("apple")).contains(1);
+    assertThat(trie.search("banana")).isEmpty();
+  }
+
+  private void assertReadsSeeStableKeysUnderWrites(ConcurrentTrie<Integer> trie)
+      throws InterruptedException {
+    int stableKeys = 500;
+    for (int i = 0; i < stableKeys; i++) {
+      trie.insert("stable-" + i, i);
+    }
+    int writeThreads = 4;
+    int readThreads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(writeThreads + readThreads);
+    CountDownLatch startLatch = new CountDownLatch(1);
+    CountDownLatch writersDone = new CountDownLatch(writeThreads);
+    CountDownLatch readersDone = new CountDownLatch(readThreads);
+    List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    for (int i = 0; i < writeThreads; i++) {
+      final int threadId = i;
+      executor.submit(
+          () -> {
+            try {
+              startLatch.await();
+              for (int j = 0; j < 2000; j++) {
+                String key = "stable-" + (j % stableKeys) + "-" + threadId;
+                trie.insert(key, j);
+                trie.delete(key);
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              writersDone.countDown();
+            }
+          });
+    }
+
+    for (int i = 0; i < readThreads; i++) {
+      executor.submit(
+          () -> {
+            try {
+              startLatch.await();
+              Random random = new Random();
+              while (writersDone.getCount() > 0) {
+                int index = random.nextInt(stableKeys);
+                if (!trie.search("stable-" + index).equals(Optional.of(index))) {
+                  failures.add("search stable-" + index);
+                }
+                if (!trie.startsWith("stable-" + index)) {
+                  failures.add("startsWith stable-" + index);
+                }
+                if (trie.autocomplete("stable-" + index, 1).isEmpty()) {
+                  failures.add("autocomplete stable-" + index);
+                }
+                if (!trie.longestPrefixOf("stable-" + index + "-")
+                    .map(Map.Entry::getKey)
+                    .equals(Optional.of("stable-" + index))) {
+                  failures.add("longestPrefixOf stable-" + index);
+                }
+              }
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              readersDone.countDown();
+            }
+          });
+    }
+
+    startLatch.countDown();
+    assertThat(writersDone.await(20, TimeUnit.SECONDS)).isTrue();
+    assertThat(readersDone.await(5, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+
+    assertThat(failures).isEmpty();
+  }
 }
@@ -4,6 +4,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.index.SubstringIndex;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.core.util.ScoredCompletion;
 import com.rodina.trie.exception.InvalidKeyException;
 import java.util.List;
 import java.util.Map;
@@ -151,6 +155,323 @@ abstract class ConcurrentTrieUnifiedTest<V> {
     assertThat(count).isEqualTo(2);
   }
 
+  @Test
+  @DisplayName("Should stream prefix entries in order, sequentially and in parallel")
+  void streamsPrefixEntries() {
+    for (int i = 0; i < 200; i++) {
+      trie.insert("key" + i, createValue(i));
+    }
+    trie.insert("other", createValue(0));
+    List<String> expected = trie.searchByPrefix("key").stream().map(Map.Entry::getKey).toList();
+    assertThat(trie.stream("key").map(Map.Entry::getKey).toList()).isEqualTo(expected);
+    assertThat(trie.parallelStream("key").map(Map.Entry::getKey).toList()).isEqualTo(expected);
+    assertThat(trie.parallelStream("").count()).isEqualTo(201);
+    assertThat(trie.stream("missing")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should rank completions by sampled access counts")
+  void ranksCompletionsByPopularity() {
+    trie =
+        new ConcurrentTrie<>(
+            10, NodeMode.FULL, ReadMode.OPTIMISTIC, null, new AccessSampler(1, Long.MAX_VALUE));
+    for (String key : List.of("app", "apple", "apply", "apt", "banana")) {
+      trie.insert(key, createValue(key));
+    }
+    for (int i = 0; i < 3; i++) {
+      trie.search("apply");
+    }
+    trie.search("apt");
+    trie.has("apple");
+
+    assertThat(trie.popularCompletions("ap", 3))
+        .containsExactly(
+            new ScoredCompletion("apply", 3),
+            new ScoredCompletion("apt", 1),
+            new ScoredCompletion("app", 0));
+    assertThat(trie.popularCompletions("x", 3)).isEmpty();
+    assertThatThrownBy(() -> trie.popularCompletions("ap", 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should serve scored autocomplete from cached top-K lists kept in step with writes")
+  void scoredAutocompleteReadsCachedTopCompletions() {
+    trie =
+        new ConcurrentTrie<>(
+            10,
+            NodeMode.FULL,
+            ReadMode.LOCKED,
+            null,
+            new AccessSampler(1, Long.MAX_VALUE),
+            null,
+            3);
+    for (String key : List.of("app", "apple", "apply", "apt", "banana")) {
+      trie.insert(key, createValue(key));
+    }
+    long snapshotId = trie.createSnapshot();
+    for (int i = 0; i < 3; i++) {
+      trie.search("apply");
+    }
+    trie.search("apt");
+
+    assertThat(trie.autocomplete("ap", 3)).containsExactly("apply", "apt", "app");
+    assertThat(trie.popularCompletions("", 2))
+        .containsExactly(new ScoredCompletion("apply", 3), new ScoredCompletion("apt", 1));
+
+    trie.delete("apply");
+    assertThat(trie.autocomplete("ap", 3)).containsExactly("apt", "app", "apple");
+
+    trie.search("apple");
+    trie.search("apple");
+    assertThat(trie.autocomplete("ap", 3)).containsExactly("apple", "apt", "app");
+    assertThat(trie.autocomplete("ap", 10)).containsExactly("apple", "apt", "app");
+
+    assertThat(trie.rollbackToSnapshot(snapshotId)).isTrue();
+    assertThat(trie.autocomplete("ap", 3)).containsExactly("app", "apple", "apply");
+
+    trie.clear();
+    assertThat(trie.autocomplete("", 3)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should reject a negative completion top K")
+  void rejectsNegativeCompletionTopK() {
+    assertThatThrownBy(
+            () -> new ConcurrentTrie<>(10, NodeMode.FULL, ReadMode.LOCKED, null, null, null, -1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should find keys within the edit distance in key order")
+  void fuzzySearchFindsNearbyKeys() {
+    for (String key : List.of("apple", "apply", "ample", "maple", "apples", "banana")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.fuzzySearch("aple", 1, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("ample", "apple", "maple");
+    assertThat(trie.fuzzySearch("apple", 1, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("ample", "apple", "apples", "apply");
+    assertThat(trie.fuzzySearch("apple", 1, 2)).hasSize(2);
+    assertThat(trie.fuzzySearch("apple", 0, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple");
+    assertThatThrownBy(() -> trie.fuzzySearch(null, 1, 10)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.fuzzySearch("apple", -1, 10))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should find keys matching a glob pattern in key order")
+  void matchFindsGlobMatches() {
+    for (String key : List.of("apple", "apply", "ample", "maple", "apples", "bat", "bet", "bit")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.match("ap*e", 10)).extracting(Map.Entry::getKey).containsExactly("apple");
+    assertThat(trie.match("*ple", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("ample", "apple", "maple");
+    assertThat(trie.match("b?t", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("bat", "bet", "bit");
+    assertThat(trie.match("b[ae]t", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("bat", "bet");
+    assertThat(trie.match("b[!a]t", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("bet", "bit");
+    assertThat(trie.match("ap*", 2))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "apples");
+    assertThat(trie.match("x*", 10)).isEmpty();
+    assertThatThrownBy(() -> trie.match(null, 10)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.match("[ab", 10)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.match("a*", 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should scan bounded key ranges in order")
+  void rangeScansBoundedKeys() {
+    for (String key : List.of("apple", "apply", "banana", "band", "bandana", "can")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.range("apply", true, "band", true, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apply", "banana", "band");
+    assertThat(trie.range("apply", false, "band", false, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("banana");
+    assertThat(trie.range(null, false, "b", false, 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "apply");
+    assertThat(trie.range("ban", true, null, false, 2))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("banana", "band");
+    assertThatThrownBy(() -> trie.range("c", true, "a", true, 10))
+        .isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.range("a", true, "c", true, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should find neighbouring keys without a full scan")
+  void navigatesNeighbouringKeys() {
+    for (String key : List.of("apple", "apply", "banana", "band", "bandana", "can")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.floorKey("bandz")).contains("bandana");
+    assertThat(trie.floorKey("band")).contains("band");
+    assertThat(trie.lowerKey("band")).contains("banana");
+    assertThat(trie.lowerKey("apple")).isEmpty();
+    assertThat(trie.ceilingKey("bana")).contains("banana");
+    assertThat(trie.ceilingKey("can")).contains("can");
+    assertThat(trie.higherKey("band")).contains("bandana");
+    assertThat(trie.higherKey("can")).isEmpty();
+    assertThatThrownBy(() -> trie.floorKey(null)).isInstanceOf(InvalidKeyException.class);
+  }
+
+  @Test
+  @DisplayName("Should answer suffix and infix queries without an index")
+  void suffixAndInfixQueriesScan() {
+    for (String key : List.of("apple", "pineapple", "grape", "ripple", "pin")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.endsWith("ple", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple", "ripple");
+    assertThat(trie.endsWith("ple", 2))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple");
+    assertThat(trie.contains("pp", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple", "ripple");
+    assertThat(trie.contains("in", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("pin", "pineapple");
+    assertThatThrownBy(() -> trie.endsWith(null, 10)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.contains(null, 10)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.contains("pp", 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should keep the substring index in step with inserts and deletes")
+  void substringIndexFollowsUpdates() {
+    trie =
+        new ConcurrentTrie<>(
+            10,
+            NodeMode.FULL,
+            ReadMode.OPTIMISTIC,
+            null,
+            new AccessSampler(),
+            new SubstringIndex());
+    for (String key : List.of("apple", "pineapple", "grape", "ripple", "pin")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.endsWith("ple", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple", "ripple");
+    assertThat(trie.contains("ppl", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple", "ripple");
+    long snapshotId = trie.createSnapshot();
+    trie.delete("apple");
+    assertThat(trie.endsWith("ple", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("pineapple", "ripple");
+    assertThat(trie.contains("ppl", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("pineapple", "ripple");
+    trie.rollbackToSnapshot(snapshotId);
+    assertThat(trie.contains("ppl", 10))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("apple", "pineapple", "ripple");
+    trie.clear();
+    assertThat(trie.contains("ppl", 10)).isEmpty();
+    assertThat(trie.endsWith("ple", 10)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should count keys under a prefix as keys come and go")
+  void countsKeysByPrefix() {
+    for (String key : List.of("car", "card", "care", "cart", "cat", "dog")) {
+      trie.insert(key, createValue(key));
+    }
+    trie.insert("card", createValue("again"));
+    assertThat(trie.countByPrefix("")).isEqualTo(6);
+    assertThat(trie.countByPrefix("ca")).isEqualTo(5);
+    assertThat(trie.countByPrefix("car")).isEqualTo(4);
+    assertThat(trie.countByPrefix("card")).isEqualTo(1);
+    assertThat(trie.countByPrefix("cow")).isZero();
+    long snapshotId = trie.createSnapshot();
+    trie.delete("car");
+    trie.delete("cart");
+    trie.delete("missing");
+    assertThat(trie.countByPrefix("car")).isEqualTo(2);
+    assertThat(trie.countByPrefix("cart")).isZero();
+    trie.rollbackToSnapshot(snapshotId);
+    assertThat(trie.countByPrefix("car")).isEqualTo(4);
+    trie.clear();
+    assertThat(trie.countByPrefix("")).isZero();
+    assertThatThrownBy(() -> trie.countByPrefix(null)).isInstanceOf(InvalidKeyException.class);
+  }
+
+  @Test
+  @DisplayName("Should rank, select and sample keys in order")
+  void ranksSelectsAndSamplesKeys() {
+    for (String key : List.of("car", "card", "care", "cart", "cat", "dog")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.rank("car")).isZero();
+    assertThat(trie.rank("cart")).isEqualTo(3);
+    assertThat(trie.rank("cas")).isEqualTo(4);
+    assertThat(trie.rank("zebra")).isEqualTo(6);
+    assertThat(trie.select("", 4)).contains("cat");
+    assertThat(trie.select("car", 1)).contains("card");
+    assertThat(trie.select("car", 4)).isEmpty();
+    assertThat(trie.select("x", 0)).isEmpty();
+    assertThat(trie.sample("car", 10)).containsExactly("car", "card", "care", "cart");
+    assertThat(trie.sample("ca", 2)).hasSize(2).isSorted().allMatch(key -> key.startsWith("ca"));
+    assertThatThrownBy(() -> trie.select("", -1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> trie.sample("", 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should find the keys that are prefixes of an input")
+  void findsPrefixesOfInput() {
+    for (String key : List.of("/api", "/api/v1", "/api/v1/users", "/apiary", "/static")) {
+      trie.insert(key, createValue(key));
+    }
+    assertThat(trie.longestPrefixOf("/api/v1/users/42"))
+        .map(Map.Entry::getKey)
+        .contains("/api/v1/users");
+    assertThat(trie.longestPrefixOf("/api/v2")).map(Map.Entry::getKey).contains("/api");
+    assertThat(trie.longestPrefixOf("/api")).map(Map.Entry::getValue).contains(createValue("/api"));
+    assertThat(trie.longestPrefixOf("/ap")).isEmpty();
+    assertThat(trie.allPrefixesOf("/api/v1/users/42"))
+        .extracting(Map.Entry::getKey)
+        .containsExactly("/api", "/api/v1", "/api/v1/users");
+    assertThat(trie.allPrefixesOf("")).isEmpty();
+    assertThatThrownBy(() -> trie.longestPrefixOf(null)).isInstanceOf(InvalidKeyException.class);
+  }
+
+  @Test
+  @DisplayName("Should resolve a batch of keys in key order")
+  void searchAllReturnsFoundKeys() {
+    for (String key : List.of("team", "tea", "teal", "ten", "toe")) {
+      trie.insert(key, createValue(key));
+    }
+    Map<String, V> found = trie.searchAll(List.of("ten", "te", "teal", "team", "tea", "tx", "ten"));
+    assertThat(found.keySet()).containsExactly("tea", "teal", "team", "ten");
+    assertThat(found).containsEntry("teal", createValue("teal"));
+    assertThat(trie.searchAll(List.of())).isEmpty();
+    assertThatThrownBy(() -> trie.searchAll(null)).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> trie.searchAll(List.of("ok", "")))
+        .isInstanceOf(InvalidKeyException.class);
+  }
+
   @Nested
   @DisplayName("Snapshot Tests")
   class SnapshotTests {
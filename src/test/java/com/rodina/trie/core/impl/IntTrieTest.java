@@ -0,0 +1,114 @@
+package com.rodina.trie.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IntTrie Tests")
+class IntTrieTest {
+  private IntTrie trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new IntTrie();
+  }
+
+  @Nested
+  @DisplayName("Basic Operations Tests")
+  class BasicOperationsTests {
+    @Test
+    @DisplayName("Should put, read and remove primitive values")
+    void putGetRemove() {
+      trie.put("apple", 3);
+      trie.put("app", 0);
+      assertThat(trie.getOrDefault("apple", -1)).isEqualTo(3);
+      assertThat(trie.getOrDefault("app", -1)).isZero();
+      assertThat(trie.getOrDefault("ap", -1)).isEqualTo(-1);
+      assertThat(trie.containsKey("app")).isTrue();
+      assertThat(trie.size()).isEqualTo(2);
+
+      assertThat(trie.remove("app")).isTrue();
+      assertThat(trie.remove("app")).isFalse();
+      assertThat(trie.containsKey("app")).isFalse();
+      assertThat(trie.getOrDefault("apple", -1)).isEqualTo(3);
+      assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should add to missing and existing keys")
+    void addTo() {
+      assertThat(trie.addTo("hits", 5)).isEqualTo(5);
+      assertThat(trie.addTo("hits", -2)).isEqualTo(3);
+      trie.remove("hits");
+      assertThat(trie.addTo("hits", 1)).isEqualTo(1);
+      assertThat(trie.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should visit keys in sorted order and clear")
+    void forEachAndClear() {
+      trie.put("b", 2);
+      trie.put("a", 1);
+      trie.put("ab", 3);
+      Map<String, Integer> visited = new LinkedHashMap<>();
+      trie.forEach(visited::put);
+      assertThat(visited).containsExactly(Map.entry("a", 1), Map.entry("ab", 3), Map.entry("b", 2));
+      assertThat(trie.getAllKeys()).containsExactly("a", "ab", "b");
+      trie.clear();
+      assertThat(trie.isEmpty()).isTrue();
+      assertThat(trie.getAllKeys()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should validate keys")
+    void validatesKeys() {
+      assertThatThrownBy(() -> trie.put("", 1))
+          .isInstanceOf(InvalidKeyException.class)
+          .hasMessage("Key cannot be empty");
+      assertThatThrownBy(() -> trie.getOrDefault(null, 0))
+          .isInstanceOf(InvalidKeyException.class)
+          .hasMessage("Key cannot be null");
+    }
+  }
+
+  @Test
+  @DisplayName("Should not lose increments under concurrent addTo and remove")
+  void concurrentCounters() throws InterruptedException {
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    for (int t = 0; t < threadCount; t++) {
+      int threadId = t;
+      executor.submit(
+          () -> {
+            try {
+              for (int i = 0; i < 1000; i++) {
+                trie.addTo("counter/" + (i % 10), 1);
+                String own = "tmp/" + threadId + "/" + i;
+                trie.put(own, i);
+                trie.remove(own);
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+    }
+    assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    for (int i = 0; i < 10; i++) {
+      assertThat(trie.getOrDefault("counter/" + i, 0)).isEqualTo(threadCount * 100);
+    }
+    assertThat(trie.size()).isEqualTo(10);
+  }
+}
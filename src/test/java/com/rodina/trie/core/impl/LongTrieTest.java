@@ -0,0 +1,43 @@
+package com.rodina.trie.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LongTrie Tests")
+class LongTrieTest {
+  private LongTrie trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new LongTrie();
+  }
+
+  @Test
+  @DisplayName("Should keep values beyond the int range")
+  void storesLongValues() {
+    trie.put("bytes", Integer.MAX_VALUE);
+    assertThat(trie.addTo("bytes", 10L)).isEqualTo(Integer.MAX_VALUE + 10L);
+    assertThat(trie.getOrDefault("bytes", 0L)).isEqualTo(Integer.MAX_VALUE + 10L);
+    assertThat(trie.getOrDefault("missing", -1L)).isEqualTo(-1L);
+  }
+
+  @Test
+  @DisplayName("Should prune removed branches and keep shared ones")
+  void removeKeepsSharedPrefixes() {
+    trie.put("car", 1L);
+    trie.put("carbon", 2L);
+    assertThat(trie.remove("carbon")).isTrue();
+    assertThat(trie.containsKey("car")).isTrue();
+    assertThat(trie.remove("car")).isTrue();
+    assertThat(trie.isEmpty()).isTrue();
+    trie.put("carbon", 3L);
+    List<String> keys = new ArrayList<>();
+    trie.forEach((key, value) -> keys.add(key + "=" + value));
+    assertThat(keys).containsExactly("carbon=3");
+  }
+}
@@ -0,0 +1,279 @@
+package com.rodina.trie.core.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.rodina.trie.contract.Trie;
+import com.rodina.trie.core.node.NodeMode;
+import com.rodina.trie.core.util.AccessSampler;
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("Sharded Trie Tests")
+class ShardedTrieTest {
+  private ShardedTrie<String> trie;
+
+  @BeforeEach
+  void setUp() {
+    trie = new ShardedTrie<>(4, 2);
+  }
+
+  @Nested
+  @DisplayName("Routing Tests")
+  class RoutingTests {
+    @Test
+    @DisplayName("Should route keys sharing the leading characters to one shard")
+    void routesByLeadingCharacters() {
+      trie.insert("apple", "1");
+      trie.insert("apricot", "2");
+      trie.insert("application", "3");
+      assertThat(trie.shardFor("apple")).isSameAs(trie.shardFor("apricot"));
+      Trie<String> owner = trie.shardFor("ap");
+      assertThat(owner.size()).isEqualTo(3);
+      assertThat(trie.size()).isEqualTo(3);
+      assertThat(trie.search("apricot")).contains("2");
+      assertThat(trie.delete("apple")).isTrue();
+      assertThat(trie.has("apple")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should spread distinct leading characters across shards")
+    void spreadsAcrossShards() {
+      for (char c = 'a'; c <= 'z'; c++) {
+        trie.insert(c + "key", "v");
+      }
+      assertThat(trie.getShards()).allSatisfy(shard -> assertThat(shard.isEmpty()).isFalse());
+      assertThat(trie.size()).isEqualTo(26);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid shard settings")
+    void rejectsInvalidSettings() {
+      assertThatThrownBy(() -> new ShardedTrie<String>(0, 1))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Shard count must be greater than 0");
+      assertThatThrownBy(() -> new ShardedTrie<String>(2, 0))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Shard prefix length must be greater than 0");
+      assertThatThrownBy(() -> trie.insert("", "v")).isInstanceOf(InvalidKeyException.class);
+      assertThatThrownBy(() -> trie.autocomplete(null, 1)).isInstanceOf(InvalidKeyException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Query Tests")
+  class QueryTests {
+    @BeforeEach
+    void fill() {
+      for (String key : List.of("banana", "band", "bandit", "apple", "apply", "cherry", "b")) {
+        trie.insert(key, key.toUpperCase());
+      }
+    }
+
+    @Test
+    @DisplayName("Should merge all keys across shards in sorted order")
+    void mergesKeysInOrder() {
+      assertThat(trie.getAllKeys())
+          .containsExactly("apple", "apply", "b", "banana", "band", "bandit", "cherry");
+      List<String> iterated = new ArrayList<>();
+      trie.forEach(entry -> iterated.add(entry.getKey()));
+      assertThat(iterated).isEqualTo(trie.getAllKeys());
+    }
+
+    @Test
+    @DisplayName("Should answer long and short prefixes alike")
+    void answersPrefixQueries() {
+      assertThat(trie.searchByPrefix("ban"))
+          .extracting(Map.Entry::getKey)
+          .containsExactly("banana", "band", "bandit");
+      assertThat(trie.searchByPrefix("b"))
+          .extracting(Map.Entry::getKey)
+          .containsExactly("b", "banana", "band", "bandit");
+      assertThat(trie.autocomplete("", 3)).containsExactly("apple", "apply", "b");
+      assertThat(trie.autocomplete("b", 2)).containsExactly("b", "banana");
+      assertThat(trie.startsWith("c")).isTrue();
+      assertThat(trie.startsWith("x")).isFalse();
+      assertThat(trie.countByPrefix("ban")).isEqualTo(3);
+      assertThat(trie.countByPrefix("b")).isEqualTo(4);
+      assertThat(trie.countByPrefix("")).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should merge scored autocomplete across shards by popularity")
+    void mergesScoredAutocompleteByPopularity() {
+      ShardedTrie<String> scored =
+          new ShardedTrie<>(
+              4,
+              2,
+              10,
+              () ->
+                  new ConcurrentTrie<>(
+                      10,
+                      NodeMode.FULL,
+                      ReadMode.LOCKED,
+                      null,
+                      new AccessSampler(1, Long.MAX_VALUE),
+                      null,
+                      2),
+              true);
+      trie.getAllKeys().forEach(key -> scored.insert(key, key.toUpperCase()));
+      scored.search("cherry");
+      scored.search("cherry");
+      scored.search("band");
+
+      assertThat(scored.isRankedAutocomplete()).isTrue();
+      assertThat(scored.autocomplete("", 2)).containsExactly("cherry", "band");
+      assertThat(scored.autocomplete("b", 2)).containsExactly("band", "b");
+      assertThat(scored.autocomplete("ban", 2)).containsExactly("band", "banana");
+    }
+
+    @Test
+    @DisplayName("Should rank and select keys in global order across shards")
+    void ranksAndSelectsAcrossShards() {
+      assertThat(trie.rank("b")).isEqualTo(2);
+      assertThat(trie.rank("bane")).isEqualTo(6);
+      assertThat(trie.select("", 2)).contains("b");
+      assertThat(trie.select("", 6)).contains("cherry");
+      assertThat(trie.select("", 7)).isEmpty();
+      assertThat(trie.select("b", 3)).contains("bandit");
+      assertThat(trie.select("ban", 1)).contains("band");
+      assertThat(trie.sample("", 10)).isEqualTo(trie.getAllKeys());
+    }
+
+    @Test
+    @DisplayName("Should find prefixes of an input stored in different shards")
+    void findsPrefixesAcrossShards() {
+      assertThat(trie.allPrefixesOf("bandits"))
+          .extracting(Map.Entry::getKey)
+          .containsExactly("b", "band", "bandit");
+      assertThat(trie.longestPrefixOf("bandage")).map(Map.Entry::getKey).contains("band");
+      assertThat(trie.longestPrefixOf("bx")).map(Map.Entry::getKey).contains("b");
+      assertThat(trie.longestPrefixOf("cherr")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should gather a batch of keys from every shard")
+    void searchAllAcrossShards() {
+      assertThat(trie.searchAll(List.of("cherry", "b", "apply", "bandit", "bandana")).keySet())
+          .containsExactly("apply", "b", "bandit", "cherry");
+    }
+
+    @Test
+    @DisplayName("Should compute longest common prefix across shards")
+    void longestCommonPrefix() {
+      assertThat(trie.longestCommonPrefix()).isEmpty();
+      trie.clear();
+      assertThat(trie.isEmpty()).isTrue();
+      trie.insert("interval", "1");
+      trie.insert("internet", "2");
+      trie.insert("interior", "3");
+      assertThat(trie.longestCommonPrefix()).isEqualTo("inter");
+    }
+  }
+
+  @Nested
+  @DisplayName("Snapshot Tests")
+  class SnapshotTests {
+    @Test
+    @DisplayName("Should rollback every shard to a checkpoint")
+    void rollbackToSnapshot() {
+      trie.insert("alpha", "1");
+      trie.insert("omega", "2");
+      long snapshotId = trie.createSnapshot();
+      trie.insert("beta", "3");
+      trie.delete("omega");
+      assertThat(trie.getSnapshots().get(snapshotId).getSize()).isEqualTo(2);
+      assertThat(trie.rollbackToSnapshot(snapshotId)).isTrue();
+      assertThat(trie.getAllKeys()).containsExactly("alpha", "omega");
+      assertThat(trie.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep at most the configured number of checkpoints")
+    void evictsOldCheckpoints() {
+      ShardedTrie<String> small = new ShardedTrie<>(2, 1, 2, ConcurrentTrie::new);
+      long first = small.createSnapshot();
+      small.createSnapshot();
+      small.createSnapshot();
+      assertThat(small.getSnapshotCount()).isEqualTo(2);
+      assertThat(small.rollbackToSnapshot(first)).isFalse();
+      small.clearAllSnapshots();
+      assertThat(small.getSnapshots()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should leave every shard untouched when one shard lost the checkpoint")
+    void rollbackIsAllOrNothing() {
+      Iterator<Trie<String>> shardTries =
+          List.<Trie<String>>of(new ConcurrentTrie<>(1), new ConcurrentTrie<>(10)).iterator();
+      ShardedTrie<String> mixed = new ShardedTrie<>(2, 1, 10, shardTries::next);
+      mixed.insert("alpha", "1");
+      mixed.insert("beta", "2");
+      long first = mixed.createSnapshot();
+      mixed.insert("apple", "3");
+      mixed.insert("banana", "4");
+      mixed.createSnapshot();
+
+      assertThat(mixed.rollbackToSnapshot(first)).isFalse();
+      assertThat(mixed.getAllKeys()).containsExactly("alpha", "apple", "banana", "beta");
+      assertThat(mixed.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should rollback a single key in its shard")
+    void rollbackNode() {
+      trie.insert("key", "v1");
+      trie.insert("key", "v2");
+      assertThat(trie.rollbackNode("key")).isTrue();
+      assertThat(trie.search("key")).contains("v1");
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep all keys under concurrent inserts and deletes")
+  void concurrentInsertsAndDeletes() throws InterruptedException {
+    int threadCount = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    CountDownLatch latch = new CountDownLatch(threadCount);
+    for (int t = 0; t < threadCount; t++) {
+      int threadId = t;
+      executor.submit(
+          () -> {
+            try {
+              for (int i = 0; i < 500; i++) {
+                String key = (char) ('a' + threadId) + "/" + i;
+                trie.insert(key, "v");
+                if (i % 3 == 0) {
+                  trie.delete(key);
+                }
+              }
+            } finally {
+              latch.countDown();
+            }
+          });
+    }
+    assertThat(latch.await(30, TimeUnit.SECONDS)).isTrue();
+    executor.shutdown();
+    List<String> expected = new ArrayList<>();
+    for (int t = 0; t < threadCount; t++) {
+      for (int i = 0; i < 500; i++) {
+        if (i % 3 != 0) {
+          expected.add((char) ('a' + t) + "/" + i);
+        }
+      }
+    }
+    assertThat(trie.size()).isEqualTo(expected.size());
+    assertThat(trie.getAllKeys()).containsExactlyInAnyOrderElementsOf(expected);
+  }
+}
@@ -0,0 +1,72 @@
+package com.rodina.trie.core.index;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("SubstringIndex Unit Tests")
+class SubstringIndexTest {
+  private SubstringIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new SubstringIndex();
+    for (String key : List.of("apple", "pineapple", "ripple", "grape")) {
+      index.sync(key, indexed -> true);
+    }
+  }
+
+  private List<String> drain(Iterator<String> keys) {
+    List<String> result = new ArrayList<>();
+    keys.forEachRemaining(result::add);
+    return result;
+  }
+
+  @Test
+  @DisplayName("Should list keys ending with a suffix in reversed key order")
+  void listsKeysBySuffix() {
+    assertThat(drain(index.keysEndingWith("ple"))).containsExactly("apple", "pineapple", "ripple");
+    assertThat(drain(index.keysEndingWith("ape"))).containsExactly("grape");
+    assertThat(drain(index.keysEndingWith("xyz"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should list keys containing a fragment in key order")
+  void listsKeysByFragment() {
+    assertThat(drain(index.keysContaining("ppl"))).containsExactly("apple", "pineapple", "ripple");
+    assertThat(drain(index.keysContaining("eapp"))).containsExactly("pineapple");
+    assertThat(drain(index.keysContaining("zzz"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should drop keys the owner no longer contains")
+  void syncRemovesMissingKeys() {
+    index.sync("apple", key -> false);
+    assertThat(drain(index.keysContaining("ppl"))).containsExactly("pineapple", "ripple");
+    assertThat(drain(index.keysEndingWith("apple"))).containsExactly("pineapple");
+    index.clear();
+    assertThat(drain(index.keysContaining("ppl"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should only cover fragments of at least one gram")
+  void coversGramLengthFragments() {
+    assertThat(index.covers("pp")).isFalse();
+    assertThat(index.covers("ppl")).isTrue();
+    assertThatThrownBy(() -> index.keysContaining("pp"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  @DisplayName("Should order keys by their reversed characters")
+  void comparesReversedKeys() {
+    assertThat(SubstringIndex.BY_REVERSED_KEY.compare("ba", "ab")).isNegative();
+    assertThat(SubstringIndex.BY_REVERSED_KEY.compare("le", "ple")).isNegative();
+    assertThat(SubstringIndex.BY_REVERSED_KEY.compare("ple", "ple")).isZero();
+  }
+}
@@ -0,0 +1,213 @@
+package com.rodina.trie.core.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ChildTable Unit Tests")
+class ChildTableTest {
+  private ChildTable<TrieNode<String>> table;
+
+  @BeforeEach
+  void setUp() {
+    table = new ChildTable<>();
+  }
+
+  private List<Character> keysInOrder() {
+    List<Character> keys = new ArrayList<>();
+    table.forEach((key, child) -> keys.add(key));
+    return keys;
+  }
+
+  @Nested
+  @DisplayName("Sorted Layout Tests")
+  class SortedLayoutTests {
+    @Test
+    @DisplayName("Should keep children sorted regardless of insertion order")
+    void keepsChildrenSorted() {
+      TrieNode<String> c = new TrieNode<>();
+      table.put('c', c);
+      table.put('a', new TrieNode<>());
+      table.put('b', new TrieNode<>());
+      assertThat(table.size()).isEqualTo(3);
+      assertThat(table.get('c')).isSameAs(c);
+      assertThat(table.get('z')).isNull();
+      assertThat(keysInOrder()).containsExactly('a', 'b', 'c');
+    }
+
+    @Test
+    @DisplayName("Should replace existing child and report previous one")
+    void replacesExistingChild() {
+      TrieNode<String> first = new TrieNode<>();
+      TrieNode<String> second = new TrieNode<>();
+      assertThat(table.put('x', first)).isNull();
+      assertThat(table.put('x', second)).isSameAs(first);
+      assertThat(table.size()).isEqualTo(1);
+      assertThat(table.remove('x')).isSameAs(second);
+      assertThat(table.remove('x')).isNull();
+      assertThat(table.isEmpty()).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Wide Layout Tests")
+  class WideLayoutTests {
+    @Test
+    @DisplayName("Should keep lookups and order when growing past the Node16 limit")
+    void growsIntoIndexedLayout() {
+      Map<Character, TrieNode<String>> expected = new TreeMap<>();
+      for (char c = 'z'; c >= 'A'; c--) {
+        TrieNode<String> child = new TrieNode<>();
+        table.put(c, child);
+        expected.put(c, child);
+      }
+      assertThat(table.size()).isEqualTo(expected.size());
+      expected.forEach((key, child) -> assertThat(table.get(key)).isSameAs(child));
+      assertThat(keysInOrder()).containsExactlyElementsOf(expected.keySet());
+
+      for (char c = 'A'; c < 'u'; c++) {
+        table.remove(c);
+        expected.remove(c);
+      }
+      assertThat(table.size()).isEqualTo(expected.size());
+      assertThat(keysInOrder()).containsExactlyElementsOf(expected.keySet());
+    }
+
+    @Test
+    @DisplayName("Should handle children spread across distant characters")
+    void handlesSparseUnicodeKeys() {
+      String keys = "abcdefghijklmnopqrstuvwxyzкиїв東京";
+      for (char c : keys.toCharArray()) {
+        table.put(c, new TrieNode<>());
+      }
+      assertThat(table.size()).isEqualTo(keys.length());
+      assertThat(table.get('東')).isNotNull();
+      assertThat(table.get('к')).isNotNull();
+      assertThat(keysInOrder()).isSorted();
+    }
+  }
+
+  @Nested
+  @DisplayName("Layout Transition Tests")
+  class LayoutTransitionTests {
+    private void putRange(char from, int count) {
+      for (int i = 0; i < count; i++) {
+        table.put((char) (from + i), new TrieNode<>());
+      }
+    }
+
+    @Test
+    @DisplayName("Should grow from Node4 through Node16 and Node48 to Node256")
+    void growsThroughLayouts() {
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE4);
+      putRange('a', ChildTable.NODE4_MAX);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE4);
+      putRange('e', 1);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE16);
+      putRange('f', ChildTable.NODE16_MAX - 5);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE16);
+      putRange('q', 1);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      putRange('r', ChildTable.NODE48_MAX - 17);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      putRange((char) ('a' + ChildTable.NODE48_MAX), 1);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE256);
+      assertThat(table.size()).isEqualTo(ChildTable.NODE48_MAX + 1);
+      assertThat(keysInOrder()).isSorted().hasSize(ChildTable.NODE48_MAX + 1);
+    }
+
+    @Test
+    @DisplayName("Should shrink back to Node4 as children are removed")
+    void shrinksAsChildrenAreRemoved() {
+      putRange('0', 100);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE256);
+      for (int i = 99; i >= 3; i--) {
+        table.remove((char) ('0' + i));
+      }
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE4);
+      assertThat(keysInOrder()).containsExactly('0', '1', '2');
+      assertThat(table.get('1')).isNotNull();
+      assertThat(table.get('5')).isNull();
+    }
+
+    @Test
+    @DisplayName("Should use the sparse layout when children span more than one window")
+    void usesSparseLayoutForWideSpans() {
+      putRange('a', ChildTable.NODE16_MAX);
+      table.put('東', new TrieNode<>());
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.SPARSE);
+      assertThat(table.get('東')).isNotNull();
+      assertThat(table.ceilingKey('q')).isEqualTo('東');
+    }
+
+    @Test
+    @DisplayName("Should rebase an indexed layout when a key falls outside its window")
+    void rebasesIndexedLayout() {
+      putRange('k', ChildTable.NODE16_MAX + 1);
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      table.put('A', new TrieNode<>());
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      assertThat(table.ceilingKey(0)).isEqualTo('A');
+      assertThat(table.get('k')).isNotNull();
+      table.put('ї', new TrieNode<>());
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.SPARSE);
+      assertThat(table.size()).isEqualTo(ChildTable.NODE16_MAX + 3);
+    }
+
+    @Test
+    @DisplayName("Should report which puts and removes change the layout or its arrays")
+    void reportsReshapingEdits() {
+      assertThat(table.reshapesOnPut('a')).isTrue();
+      putRange('a', ChildTable.NODE16_MAX);
+      assertThat(table.reshapesOnPut('a')).isFalse();
+      assertThat(table.reshapesOnPut('z')).isTrue();
+      putRange('q', 1);
+      assertThat(table.reshapesOnPut('r')).isFalse();
+      assertThat(table.reshapesOnPut('東')).isTrue();
+      assertThat(table.reshapesOnRemove('q')).isFalse();
+      assertThat(table.reshapesOnRemove('z')).isFalse();
+      for (char c = 'n'; c <= 'q'; c++) {
+        table.remove(c);
+      }
+      assertThat(table.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      assertThat(table.reshapesOnRemove('a')).isTrue();
+    }
+  }
+
+  @Nested
+  @DisplayName("Navigation Tests")
+  class NavigationTests {
+    @Test
+    @DisplayName("Should find ceiling and floor child keys")
+    void ceilingAndFloor() {
+      table.put('b', new TrieNode<>());
+      table.put('d', new TrieNode<>());
+      table.put('f', new TrieNode<>());
+      assertThat(table.ceilingKey(0)).isEqualTo('b');
+      assertThat(table.ceilingKey('c')).isEqualTo('d');
+      assertThat(table.ceilingKey('d')).isEqualTo('d');
+      assertThat(table.ceilingKey('g')).isEqualTo(-1);
+      assertThat(table.floorKey('e')).isEqualTo('d');
+      assertThat(table.floorKey('a')).isEqualTo(-1);
+      assertThat(table.floorKey(Character.MAX_VALUE)).isEqualTo('f');
+    }
+  }
+
+  @Test
+  @DisplayName("Copy should be independent of the original table")
+  void copyIsIndependent() {
+    table.put('a', new TrieNode<>());
+    ChildTable<TrieNode<String>> copy = table.copy();
+    table.put('b', new TrieNode<>());
+    assertThat(copy.size()).isEqualTo(1);
+    assertThat(copy.get('b')).isNull();
+    assertThat(copy).isNotEqualTo(table);
+  }
+}
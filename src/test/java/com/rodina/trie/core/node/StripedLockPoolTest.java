@@ -0,0 +1,36 @@
+package com.rodina.trie.core.node;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("StripedLockPool Unit Tests")
+class StripedLockPoolTest {
+  @Test
+  @DisplayName("Should reject stripe counts that are not positive powers of two")
+  void rejectsInvalidStripeCounts() {
+    assertThatThrownBy(() -> new StripedLockPool(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Stripe count must be a positive power of two");
+    assertThatThrownBy(() -> new StripedLockPool(12)).isInstanceOf(IllegalArgumentException.class);
+    assertThat(new StripedLockPool(16).getStripeCount()).isEqualTo(16);
+  }
+
+  @Test
+  @DisplayName("Should hand out a stable lock per node and share stripes between nodes")
+  void sharesStripesBetweenNodes() {
+    StripedLockPool pool = new StripedLockPool(1);
+    TrieNode<String> root = new TrieNode<>(NodeMode.LEAN, false, pool);
+    TrieNode<String> child = root.addChild('a');
+    assertThat(child.getLockPool()).isSameAs(pool);
+    assertThat(pool.lockFor(root)).isSameAs(pool.lockFor(child));
+    root.lockWrite();
+    try {
+      assertThat(pool.lockFor(child).isWriteLockedByCurrentThread()).isTrue();
+    } finally {
+      root.unlockWrite();
+    }
+  }
+}
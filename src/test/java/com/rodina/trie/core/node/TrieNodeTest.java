@@ -44,6 +44,21 @@ class TrieNodeTest {
     assertThat(node.getAccessCount()).isZero();
   }
 
+  @Test
+  @DisplayName("Access counts halve once per elapsed epoch")
+  void accessCountsDecayPerEpoch() {
+    for (int i = 0; i < 8; i++) {
+      node.incrementAccessCount(0);
+    }
+    assertThat(node.getAccessCount(0)).isEqualTo(8);
+    assertThat(node.getAccessCount(2)).isEqualTo(2);
+    assertThat(node.getAccessCount(60)).isZero();
+
+    node.incrementAccessCount(3);
+    assertThat(node.getAccessCount(3)).isEqualTo(2);
+    assertThat(node.getAccessCount(4)).isEqualTo(1);
+  }
+
   @Nested
   @DisplayName("Children Operations Tests")
   class ChildrenOperationsTests {
@@ -153,6 +168,103 @@ class TrieNodeTest {
       node.saveSnapshot();
       assertThat(node.getSnapshotDepth()).isEqualTo(depth + 1);
     }
+
+    @Test
+    @DisplayName("Versions keep increasing when different threads modify a node")
+    void versionsIncreaseAcrossThreads() throws InterruptedException {
+      long[] versions = new long[3];
+      Thread first = new Thread(() -> versions[0] = modify("a"));
+      first.start();
+      first.join();
+      Thread second = new Thread(() -> versions[1] = modify("b"));
+      second.start();
+      second.join();
+      versions[2] = modify("c");
+
+      assertThat(versions).isSorted().doesNotHaveDuplicates();
+      assertThat(node.rollbackToVersion(versions[0])).isTrue();
+      assertThat(node.getValue()).isEqualTo("a");
+      assertThat(node.getVersion()).isGreaterThan(versions[2]);
+    }
+
+    private long modify(String value) {
+      node.lockWrite();
+      try {
+        node.setValue(value);
+        return node.getVersion();
+      } finally {
+        node.unlockWrite();
+      }
+    }
+  }
+
+  @Nested
+  @DisplayName("Lean Mode Tests")
+  class LeanModeTests {
+    @Test
+    @DisplayName("Lean node keeps structure and value without metadata or history")
+    void leanNodeDropsMetadata() {
+      TrieNode<String> lean = new TrieNode<>(NodeMode.LEAN);
+      lean.setValue("first");
+      lean.setValue("second");
+      lean.incrementAccessCount();
+      assertThat(lean.getMode()).isEqualTo(NodeMode.LEAN);
+      assertThat(lean.getValue()).isEqualTo("second");
+      assertThat(lean.getVersion()).isZero();
+      assertThat(lean.getCreatedAt()).isZero();
+      assertThat(lean.getAccessCount()).isZero();
+      assertThat(lean.hasPreviousSnapshot()).isFalse();
+      assertThat(lean.rollback()).isFalse();
+      assertThat(lean.rollbackToVersion(0)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Children inherit the mode of their parent")
+    void childrenInheritMode() {
+      TrieNode<String> lean = new TrieNode<>(NodeMode.LEAN);
+      assertThat(lean.addChild('a').getMode()).isEqualTo(NodeMode.LEAN);
+      assertThat(node.addChild('a').getMode()).isEqualTo(NodeMode.FULL);
+    }
+  }
+
+  @Nested
+  @DisplayName("Copy-On-Write Tests")
+  class CopyOnWriteTests {
+    @Test
+    @DisplayName("Published child tables are replaced, never mutated")
+    void childTablesAreReplacedOnWrite() {
+      TrieNode<String> cow = new TrieNode<>(NodeMode.FULL, true);
+      ChildTable<TrieNode<String>> before = cow.getChildTable();
+      TrieNode<String> child = cow.addChild('a');
+      assertThat(child.isCopyOnWrite()).isTrue();
+      assertThat(before.isEmpty()).isTrue();
+      ChildTable<TrieNode<String>> afterAdd = cow.getChildTable();
+      cow.removeChild('a');
+      assertThat(afterAdd.get('a')).isSameAs(child);
+      assertThat(cow.hasChildren()).isFalse();
+      assertThat(cow.getChildTable()).isNotSameAs(afterAdd);
+    }
+
+    @Test
+    @DisplayName("Locked nodes publish a new table only when the layout changes")
+    void layoutChangesArePublishedAsNewTables() {
+      for (char c = 'a'; c < 'a' + ChildTable.NODE16_MAX; c++) {
+        node.addChild(c);
+      }
+      ChildTable<TrieNode<String>> node16 = node.getChildTable();
+      node.setChild('a', new TrieNode<>());
+      assertThat(node.getChildTable()).isSameAs(node16);
+
+      node.addChild('q');
+      ChildTable<TrieNode<String>> node48 = node.getChildTable();
+      assertThat(node48).isNotSameAs(node16);
+      assertThat(node48.layout()).isEqualTo(ChildTable.Layout.NODE48);
+      assertThat(node16.layout()).isEqualTo(ChildTable.Layout.NODE16);
+      assertThat(node16.size()).isEqualTo(ChildTable.NODE16_MAX);
+
+      node.removeChild('q');
+      assertThat(node.getChildTable()).isSameAs(node48);
+    }
   }
 
   @Test
@@ -161,12 +273,16 @@ class TrieNodeTest {
     node.setValue("value");
     node.setEndOfWord(true);
     node.addChild('a');
+    node.addSubtreeCount(2);
+    node.addSubtreeCount(-1);
+    assertThat(node.getSubtreeCount()).isEqualTo(1);
 
     node.clear();
 
     assertThat(node.getValue()).isNull();
     assertThat(node.isEndOfWord()).isFalse();
     assertThat(node.hasChildren()).isFalse();
+    assertThat(node.getSubtreeCount()).isZero();
   }
 
   @Test
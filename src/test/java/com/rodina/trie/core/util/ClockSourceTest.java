@@ -0,0 +1,75 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.rodina.trie.core.node.NodeSnapshot;
+import com.rodina.trie.core.node.TrieNode;
+import com.rodina.trie.core.snapshot.TrieSnapshot;
+import com.rodina.trie.core.snapshot.TrieSnapshotManager;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ClockSource Tests")
+class ClockSourceTest {
+  @AfterEach
+  void tearDown() {
+    ClockSource.reset();
+  }
+
+  @Nested
+  @DisplayName("Pluggable Clock Tests")
+  class PluggableClockTests {
+    @Test
+    @DisplayName("Should stamp nodes and snapshots with the installed clock")
+    void stampsWithInstalledClock() {
+      AtomicLong time = new AtomicLong(1_000);
+      ClockSource.set(time::get);
+      TrieNode<String> node = new TrieNode<>();
+      assertThat(node.getCreatedAt()).isEqualTo(1_000);
+
+      time.set(2_000);
+      node.setValue("v1");
+      assertThat(node.getModifiedAt()).isEqualTo(2_000);
+      assertThat(new NodeSnapshot<>(node, null).getTimestamp()).isEqualTo(2_000);
+      assertThat(new TrieSnapshot<>(1, node, 1).getTimestamp()).isEqualTo(2_000);
+    }
+
+    @Test
+    @DisplayName("Should let a snapshot manager use its own clock")
+    void managerUsesOwnClock() {
+      TrieSnapshotManager<String> manager = new TrieSnapshotManager<>(5, () -> 42L);
+      long snapshotId = manager.createSnapshot(new TrieNode<>(), 0);
+      assertThat(manager.getSnapshot(snapshotId).getTimestamp()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("Should restore the default clock and reject null")
+    void resetsAndRejectsNull() {
+      TrieClock defaultClock = ClockSource.get();
+      ClockSource.set(TrieClock.SYSTEM);
+      assertThat(ClockSource.get()).isSameAs(TrieClock.SYSTEM);
+      ClockSource.reset();
+      assertThat(ClockSource.get()).isSameAs(defaultClock);
+      assertThatThrownBy(() -> ClockSource.set(null))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessage("Clock cannot be null");
+    }
+  }
+
+  @Test
+  @DisplayName("Cached clock should follow the system clock")
+  void cachedClockTicks() throws InterruptedException {
+    try (CachedClock clock = new CachedClock(1)) {
+      long start = clock.millis();
+      assertThat(start).isCloseTo(System.currentTimeMillis(), within(50L));
+      Thread.sleep(30);
+      assertThat(clock.millis()).isGreaterThan(start);
+    }
+    assertThatThrownBy(() -> new CachedClock(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
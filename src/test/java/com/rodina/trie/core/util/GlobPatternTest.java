@@ -0,0 +1,77 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.rodina.trie.exception.InvalidKeyException;
+import java.util.BitSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GlobPattern Unit Tests")
+class GlobPatternTest {
+  private boolean matches(String pattern, String input) {
+    GlobPattern glob = new GlobPattern(pattern);
+    BitSet state = glob.start();
+    for (char c : input.toCharArray()) {
+      state = glob.step(state, c);
+    }
+    return glob.isMatch(state);
+  }
+
+  @Test
+  @DisplayName("Should match single and multi character wildcards")
+  void matchesWildcards() {
+    assertThat(matches("a?c", "abc")).isTrue();
+    assertThat(matches("a?c", "ac")).isFalse();
+    assertThat(matches("a*c", "ac")).isTrue();
+    assertThat(matches("a*c", "abbbc")).isTrue();
+    assertThat(matches("a**", "a")).isTrue();
+    assertThat(matches("*b*", "abc")).isTrue();
+    assertThat(matches("*b*", "acd")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should match character classes, ranges and negation")
+  void matchesClasses() {
+    assertThat(matches("[abc]x", "bx")).isTrue();
+    assertThat(matches("[a-c]x", "dx")).isFalse();
+    assertThat(matches("[!a-c]x", "dx")).isTrue();
+    assertThat(matches("[^a-c]x", "ax")).isFalse();
+    assertThat(matches("[]]", "]")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should treat escaped characters literally")
+  void matchesEscapes() {
+    assertThat(matches("a\\*", "a*")).isTrue();
+    assertThat(matches("a\\*", "ab")).isFalse();
+    assertThat(matches("\\[a]", "[a]")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should expose the literal prefix before the first wildcard")
+  void exposesLiteralPrefix() {
+    assertThat(new GlobPattern("app*le").getLiteralPrefix()).isEqualTo("app");
+    assertThat(new GlobPattern("a\\?b?").getLiteralPrefix()).isEqualTo("a?b");
+    assertThat(new GlobPattern("*abc").getLiteralPrefix()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should report when no extension can match")
+  void reportsDeadStates() {
+    GlobPattern glob = new GlobPattern("ab?");
+    BitSet state = glob.step(glob.start(), 'x');
+    assertThat(glob.canMatch(state)).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should reject malformed patterns")
+  void rejectsMalformedPatterns() {
+    assertThatThrownBy(() -> new GlobPattern(null))
+        .isInstanceOf(InvalidKeyException.class)
+        .hasMessage("Pattern cannot be null");
+    assertThatThrownBy(() -> new GlobPattern("ab\\")).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> new GlobPattern("[abc")).isInstanceOf(InvalidKeyException.class);
+    assertThatThrownBy(() -> new GlobPattern("[z-a]")).isInstanceOf(InvalidKeyException.class);
+  }
+}
@@ -0,0 +1,44 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LevenshteinAutomaton Unit Tests")
+class LevenshteinAutomatonTest {
+  private int[] run(LevenshteinAutomaton automaton, String input) {
+    int[] state = automaton.start();
+    for (char c : input.toCharArray()) {
+      state = automaton.step(state, c);
+    }
+    return state;
+  }
+
+  @Test
+  @DisplayName("Should accept inputs within the edit bound")
+  void acceptsWithinBound() {
+    LevenshteinAutomaton automaton = new LevenshteinAutomaton("kitten", 2);
+    assertThat(automaton.isMatch(run(automaton, "kitten"))).isTrue();
+    assertThat(automaton.isMatch(run(automaton, "sitten"))).isTrue();
+    assertThat(automaton.isMatch(run(automaton, "sittin"))).isTrue();
+    assertThat(automaton.isMatch(run(automaton, "sitting"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should report when no extension can match")
+  void reportsDeadStates() {
+    LevenshteinAutomaton automaton = new LevenshteinAutomaton("abc", 1);
+    assertThat(automaton.canMatch(run(automaton, "ab"))).isTrue();
+    assertThat(automaton.canMatch(run(automaton, "xy"))).isFalse();
+    assertThat(automaton.canMatch(run(automaton, "abcde"))).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should reject negative edit bounds")
+  void rejectsNegativeBound() {
+    assertThatThrownBy(() -> new LevenshteinAutomaton("abc", -1))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Max edits cannot be negative");
+  }
+}
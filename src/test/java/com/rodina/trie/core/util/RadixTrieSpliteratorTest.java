@@ -0,0 +1,121 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rodina.trie.core.node.RadixNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RadixTrieSpliterator Unit Tests")
+class RadixTrieSpliteratorTest {
+  private RadixNode<String> root;
+
+  @BeforeEach
+  void setUp() {
+    root = new RadixNode<>("");
+  }
+
+  private RadixNode<String> edge(RadixNode<String> parent, String label, boolean terminal) {
+    RadixNode<String> child = new RadixNode<>(label);
+    if (terminal) {
+      child.setTerminal(label.toUpperCase());
+    }
+    parent.putChild(child);
+    return child;
+  }
+
+  private int recount(RadixNode<String> node) {
+    int[] count = {node.isEndOfWord() ? 1 : 0};
+    node.forEachChild((key, child) -> count[0] += recount(child));
+    node.setSubtreeCount(count[0]);
+    return count[0];
+  }
+
+  private List<String> drain(Spliterator<Map.Entry<String, String>> spliterator) {
+    List<String> keys = new ArrayList<>();
+    spliterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+    return keys;
+  }
+
+  @Test
+  @DisplayName("Should split into ordered halves that cover every key")
+  void splitsIntoOrderedHalves() {
+    RadixNode<String> a = edge(root, "a", true);
+    edge(edge(a, "b", true), "c", true);
+    edge(edge(root, "b", true), "a", true);
+    edge(root, "c", true);
+    edge(root, "d", true);
+    recount(root);
+    RadixTrieSpliterator<String> suffix = new RadixTrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> prefix = suffix.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(7);
+
+    List<String> keys = new ArrayList<>(drain(prefix));
+    keys.addAll(drain(suffix));
+    assertThat(keys).containsExactly("a", "ab", "abc", "b", "ba", "c", "d");
+  }
+
+  @Test
+  @DisplayName("Should split a skewed subtree by key counts rather than by child fan-out")
+  void splitsSkewedSubtreesByCount() {
+    RadixNode<String> a = edge(root, "a", false);
+    List<String> expected = new ArrayList<>();
+    for (int tens = 0; tens < 10; tens++) {
+      RadixNode<String> digit = edge(a, String.valueOf(tens), false);
+      for (int units = 0; units < 10 && tens * 10 + units < 99; units++) {
+        edge(digit, String.valueOf(units), true);
+        expected.add("a" + tens + units);
+      }
+    }
+    edge(root, "b", true);
+    expected.add("b");
+    recount(root);
+    RadixTrieSpliterator<String> suffix = new RadixTrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> prefix = suffix.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize()).isEqualTo(50);
+    assertThat(suffix.estimateSize()).isEqualTo(50);
+    assertThat(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+
+    List<String> keys = new ArrayList<>(drain(prefix));
+    keys.addAll(drain(suffix));
+    assertThat(keys).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Should descend through compressed edges before splitting")
+  void descendsCompressedEdges() {
+    RadixNode<String> shared = edge(root, "prefix-", false);
+    edge(shared, "x", true);
+    edge(shared, "y", true);
+    recount(root);
+    RadixTrieSpliterator<String> spliterator = new RadixTrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> first = spliterator.trySplit();
+    assertThat(drain(first)).containsExactly("prefix-x");
+    assertThat(drain(spliterator)).containsExactly("prefix-y");
+  }
+
+  @Test
+  @DisplayName("Should refuse to split a leaf or a partially consumed subtree")
+  void refusesUnsplittableStates() {
+    RadixNode<String> leaf = edge(root, "a", true);
+    recount(root);
+    RadixTrieSpliterator<String> leafSpliterator = new RadixTrieSpliterator<>(leaf, "a");
+    assertThat(leafSpliterator.trySplit()).isNull();
+    assertThat(leafSpliterator.characteristics() & Spliterator.ORDERED).isNotZero();
+
+    edge(leaf, "b", true);
+    edge(leaf, "c", true);
+    recount(root);
+    RadixTrieSpliterator<String> started = new RadixTrieSpliterator<>(root, "");
+    assertThat(started.tryAdvance(entry -> {})).isTrue();
+    assertThat(started.trySplit()).isNull();
+    assertThat(drain(started)).containsExactly("ab", "ac");
+  }
+}
@@ -0,0 +1,29 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RandomIndices Unit Tests")
+class RandomIndicesTest {
+  @Test
+  @DisplayName("Should pick distinct sorted indices within the bound")
+  void picksDistinctSortedIndices() {
+    for (int i = 0; i < 100; i++) {
+      int[] indices = RandomIndices.distinct(50, 10);
+      assertThat(indices).hasSize(10).isSorted();
+      assertThat(Arrays.stream(indices).distinct().count()).isEqualTo(10);
+      assertThat(indices).allMatch(index -> index >= 0 && index < 50);
+    }
+  }
+
+  @Test
+  @DisplayName("Should return every index when the count covers the bound")
+  void returnsEveryIndex() {
+    assertThat(RandomIndices.distinct(4, 4)).containsExactly(0, 1, 2, 3);
+    assertThat(RandomIndices.distinct(3, 10)).containsExactly(0, 1, 2);
+    assertThat(RandomIndices.distinct(0, 5)).isEmpty();
+  }
+}
@@ -0,0 +1,49 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RankedCompletions Unit Tests")
+class RankedCompletionsTest {
+  private final RankedCompletions ranked =
+      new RankedCompletions(
+          4,
+          List.of(
+              new ScoredCompletion("zeta", 9),
+              new ScoredCompletion("alpha", 8),
+              new ScoredCompletion("beta", 2)));
+
+  @Test
+  @DisplayName("Should return the leading completions up to the limit")
+  void returnsLeadingCompletions() {
+    assertThat(ranked.top(2))
+        .containsExactly(new ScoredCompletion("zeta", 9), new ScoredCompletion("alpha", 8));
+    assertThat(ranked.top(10)).hasSize(3);
+    assertThat(RankedCompletions.EMPTY.top(3)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should halve scores per elapsed epoch and re-break ties by key")
+  void decaysAndReordersTies() {
+    RankedCompletions decayed = ranked.decayTo(5);
+    assertThat(decayed.getEpoch()).isEqualTo(5);
+    assertThat(decayed.top(3))
+        .containsExactly(
+            new ScoredCompletion("alpha", 4),
+            new ScoredCompletion("zeta", 4),
+            new ScoredCompletion("beta", 1));
+    assertThat(ranked.decayTo(4)).isSameAs(ranked);
+    assertThat(ranked.decayTo(100).top(3)).extracting(ScoredCompletion::getScore).containsOnly(0L);
+  }
+
+  @Test
+  @DisplayName("Should compare rankings by their entries only")
+  void comparesRankings() {
+    assertThat(ranked.sameRanking(ranked.decayTo(4))).isTrue();
+    assertThat(ranked.sameRanking(ranked.decayTo(5))).isFalse();
+    assertThat(RankedCompletions.EMPTY.sameRanking(new RankedCompletions(7, List.of()))).isTrue();
+  }
+}
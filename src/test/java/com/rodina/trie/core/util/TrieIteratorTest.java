@@ -187,6 +187,105 @@ class TrieIteratorTest {
     }
   }
 
+  @Nested
+  @DisplayName("Deep Path Tests")
+  class DeepPathTests {
+    @Test
+    @DisplayName("Should rebuild keys longer than the initial frame stack")
+    void iteratesLongKeys() {
+      String longKey = "x".repeat(100);
+      TrieNode<String> node = root;
+      for (int i = 0; i < longKey.length(); i++) {
+        node = node.addChild(longKey.charAt(i));
+        if (i == 9) {
+          node.setEndOfWord(true);
+          node.setValue("short");
+        }
+      }
+      node.setEndOfWord(true);
+      node.setValue("long");
+      root.addChild('y').setEndOfWord(true);
+      root.getChild('y').setValue("sibling");
+
+      List<String> keys = new ArrayList<>();
+      new TrieIterator<>(root, "pre-").forEachRemaining(entry -> keys.add(entry.getKey()));
+      assertThat(keys).containsExactly("pre-" + "x".repeat(10), "pre-" + longKey, "pre-y");
+    }
+
+    @Test
+    @DisplayName("Should visit children in character order across wide nodes")
+    void visitsWideNodesInOrder() {
+      for (char c = 'z'; c >= '0'; c--) {
+        TrieNode<String> child = root.addChild(c);
+        child.setEndOfWord(true);
+        child.setValue(String.valueOf(c));
+      }
+      List<String> keys = new ArrayList<>();
+      new TrieIterator<>(root).forEachRemaining(entry -> keys.add(entry.getKey()));
+      assertThat(keys).hasSize('z' - '0' + 1).isSorted();
+    }
+  }
+
+  @Nested
+  @DisplayName("Seek Tests")
+  class SeekTests {
+    @BeforeEach
+    void setUpKeys() {
+      for (String key : List.of("ab", "abc", "abd", "b", "ba")) {
+        TrieNode<String> node = root;
+        for (char c : key.toCharArray()) {
+          node = node.getChild(c) != null ? node.getChild(c) : node.addChild(c);
+        }
+        node.setEndOfWord(true);
+        node.setValue(key);
+      }
+    }
+
+    private List<String> keysAfter(String prefix, TrieNode<String> start, String after) {
+      List<String> keys = new ArrayList<>();
+      new TrieIterator<>(start, prefix, after).forEachRemaining(entry -> keys.add(entry.getKey()));
+      return keys;
+    }
+
+    @Test
+    @DisplayName("Should resume strictly after an existing key")
+    void resumesAfterExistingKey() {
+      assertThat(keysAfter("", root, "ab")).containsExactly("abc", "abd", "b", "ba");
+      assertThat(keysAfter("", root, "abd")).containsExactly("b", "ba");
+      assertThat(keysAfter("", root, "ba")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should resume at the successor of a missing key")
+    void resumesAfterMissingKey() {
+      assertThat(keysAfter("", root, "abca")).containsExactly("abd", "b", "ba");
+      assertThat(keysAfter("", root, "a")).containsExactly("ab", "abc", "abd", "b", "ba");
+      assertThat(keysAfter("", root, "az")).containsExactly("b", "ba");
+    }
+
+    @Test
+    @DisplayName("Should compare cursors outside the prefix against the whole subtree")
+    void handlesCursorOutsidePrefix() {
+      TrieNode<String> prefixRoot = root.getChild('a').getChild('b');
+      assertThat(keysAfter("ab", prefixRoot, "aa")).containsExactly("ab", "abc", "abd");
+      assertThat(keysAfter("ab", prefixRoot, "b")).isEmpty();
+      assertThat(keysAfter("ab", prefixRoot, "abc")).containsExactly("abd");
+    }
+
+    @Test
+    @DisplayName("Should include the seek key itself when inclusive")
+    void seeksInclusively() {
+      List<String> keys = new ArrayList<>();
+      new TrieIterator<>(root, "", "abc", true)
+          .forEachRemaining(entry -> keys.add(entry.getKey()));
+      assertThat(keys).containsExactly("abc", "abd", "b", "ba");
+      keys.clear();
+      new TrieIterator<>(root, "", "abca", true)
+          .forEachRemaining(entry -> keys.add(entry.getKey()));
+      assertThat(keys).containsExactly("abd", "b", "ba");
+    }
+  }
+
   @Nested
   @DisplayName("Iterator Contract Tests")
   class IteratorContractTests {
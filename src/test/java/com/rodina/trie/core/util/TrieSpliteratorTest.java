@@ -0,0 +1,113 @@
+package com.rodina.trie.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.rodina.trie.core.node.TrieNode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TrieSpliterator Unit Tests")
+class TrieSpliteratorTest {
+  private TrieNode<String> root;
+
+  @BeforeEach
+  void setUp() {
+    root = new TrieNode<>();
+  }
+
+  private void put(String key) {
+    List<TrieNode<String>> path = new ArrayList<>(List.of(root));
+    TrieNode<String> node = root;
+    for (char c : key.toCharArray()) {
+      node = node.addChild(c);
+      path.add(node);
+    }
+    node.setEndOfWord(true);
+    node.setValue(key.toUpperCase());
+    path.forEach(step -> step.addSubtreeCount(1));
+  }
+
+  private List<String> drain(Spliterator<Map.Entry<String, String>> spliterator) {
+    List<String> keys = new ArrayList<>();
+    spliterator.forEachRemaining(entry -> keys.add(entry.getKey()));
+    return keys;
+  }
+
+  @Test
+  @DisplayName("Should split into ordered halves that cover every key")
+  void splitsIntoOrderedHalves() {
+    for (String key : List.of("a", "ab", "abc", "b", "ba", "c", "d")) {
+      put(key);
+    }
+    TrieSpliterator<String> suffix = new TrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> prefix = suffix.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize() + suffix.estimateSize()).isEqualTo(7);
+
+    List<String> keys = new ArrayList<>(drain(prefix));
+    keys.addAll(drain(suffix));
+    assertThat(keys).containsExactly("a", "ab", "abc", "b", "ba", "c", "d");
+  }
+
+  @Test
+  @DisplayName("Should split a skewed subtree by key counts rather than by child fan-out")
+  void splitsSkewedSubtreesByCount() {
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 99; i++) {
+      expected.add(String.format("a%02d", i));
+    }
+    expected.add("b");
+    expected.forEach(this::put);
+    TrieSpliterator<String> suffix = new TrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> prefix = suffix.trySplit();
+    assertThat(prefix).isNotNull();
+    assertThat(prefix.estimateSize()).isEqualTo(50);
+    assertThat(suffix.estimateSize()).isEqualTo(50);
+    assertThat(prefix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED)).isTrue();
+
+    List<String> keys = new ArrayList<>(drain(prefix));
+    keys.addAll(drain(suffix));
+    assertThat(keys).isEqualTo(expected);
+  }
+
+  @Test
+  @DisplayName("Should only report SIZED when built over exact counts")
+  void reportsSizedOnlyWhenExact() {
+    put("a");
+    assertThat(new TrieSpliterator<>(root, "").hasCharacteristics(Spliterator.SIZED)).isFalse();
+    assertThat(new TrieSpliterator<>(root, "", true).hasCharacteristics(Spliterator.SIZED))
+        .isTrue();
+  }
+
+  @Test
+  @DisplayName("Should descend through single-child chains before splitting")
+  void descendsSingleChildChains() {
+    put("prefix-x");
+    put("prefix-y");
+    TrieSpliterator<String> spliterator = new TrieSpliterator<>(root, "", true);
+    Spliterator<Map.Entry<String, String>> first = spliterator.trySplit();
+    assertThat(drain(first)).containsExactly("prefix-x");
+    assertThat(drain(spliterator)).containsExactly("prefix-y");
+  }
+
+  @Test
+  @DisplayName("Should refuse to split a leaf or a partially consumed subtree")
+  void refusesUnsplittableStates() {
+    put("a");
+    TrieSpliterator<String> leaf = new TrieSpliterator<>(root.getChild('a'), "a");
+    assertThat(leaf.trySplit()).isNull();
+    assertThat(leaf.characteristics() & Spliterator.ORDERED).isNotZero();
+
+    put("ab");
+    put("ac");
+    TrieSpliterator<String> started = new TrieSpliterator<>(root, "");
+    assertThat(started.tryAdvance(entry -> {})).isTrue();
+    assertThat(started.trySplit()).isNull();
+    assertThat(drain(started)).containsExactly("ab", "ac");
+  }
+}